@@ -0,0 +1,80 @@
+package ifmt.cba.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ifmt.cba.dto.CardapioDTO;
+import ifmt.cba.dto.ItemOrdemProducaoDTO;
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.OrdemProducaoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+import ifmt.cba.utils.AmostrasDTO;
+
+/**
+ * As amostras de {@link AmostrasDTO} no tamanho que cada benchmark pede. Aqui so
+ * muda o que depende do parametro: a quantidade de itens e, em cada item, uma
+ * copia propria do preparo e do produto com codigo e valores diferentes, como a
+ * API devolve (o servidor substituto serve os preparos pelo codigo).
+ */
+final class Amostras {
+
+    private Amostras() {
+    }
+
+    static PreparoProdutoDTO preparo(int codigo) {
+        PreparoProdutoDTO preparoProdutoDTO = AmostrasDTO.preparo();
+        preparoProdutoDTO.setCodigo(codigo);
+        preparoProdutoDTO.setNome("Preparo " + codigo);
+        preparoProdutoDTO.setTempoPreparo(15 + codigo % 45);
+        preparoProdutoDTO.setValorPreparo(9.9F + codigo % 25 * 1.5F);
+        preparoProdutoDTO.setLink("/preparo/codigo/" + codigo);
+
+        ProdutoDTO produtoDTO = preparoProdutoDTO.getProduto();
+        produtoDTO.setCodigo(codigo);
+        produtoDTO.setNome("Produto " + codigo);
+        produtoDTO.setCustoUnidade(1.25F + codigo % 40 * 0.35F);
+        produtoDTO.setLink("/produto/codigo/" + codigo);
+        return preparoProdutoDTO;
+    }
+
+    static PedidoDTO pedido(int itens) {
+        List<ItemPedidoDTO> listaItens = new ArrayList<>(itens);
+        for (int i = 1; i <= itens; i++) {
+            ItemPedidoDTO itemPedidoDTO = new ItemPedidoDTO();
+            itemPedidoDTO.setCodigo(i);
+            itemPedidoDTO.setPreparoProduto(preparo(i % 50 + 1));
+            itemPedidoDTO.setQuantidadePorcao(i % 4 + 1);
+            listaItens.add(itemPedidoDTO);
+        }
+        PedidoDTO pedidoDTO = AmostrasDTO.pedido();
+        pedidoDTO.setListaItens(listaItens);
+        return pedidoDTO;
+    }
+
+    static CardapioDTO cardapio(int preparos) {
+        List<PreparoProdutoDTO> lista = new ArrayList<>(preparos);
+        for (int i = 1; i <= preparos; i++) {
+            lista.add(preparo(i));
+        }
+        CardapioDTO cardapioDTO = AmostrasDTO.ordemProducao().getCardapio();
+        cardapioDTO.setListaPreparoProduto(lista);
+        return cardapioDTO;
+    }
+
+    static OrdemProducaoDTO ordemProducao(int itens) {
+        List<ItemOrdemProducaoDTO> listaItens = new ArrayList<>(itens);
+        for (int i = 1; i <= itens; i++) {
+            ItemOrdemProducaoDTO itemOrdemProducaoDTO = new ItemOrdemProducaoDTO();
+            itemOrdemProducaoDTO.setCodigo(i);
+            itemOrdemProducaoDTO.setPreparoProduto(preparo(i));
+            itemOrdemProducaoDTO.setQuantidadePorcao(10 + i % 30);
+            listaItens.add(itemOrdemProducaoDTO);
+        }
+        OrdemProducaoDTO ordemProducaoDTO = AmostrasDTO.ordemProducao();
+        ordemProducaoDTO.setCardapio(cardapio(itens));
+        ordemProducaoDTO.setListaItens(listaItens);
+        return ordemProducaoDTO;
+    }
+}
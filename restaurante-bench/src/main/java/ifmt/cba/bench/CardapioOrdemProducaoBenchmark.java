@@ -0,0 +1,79 @@
+package ifmt.cba.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+
+import ifmt.cba.utils.EscritorJsonBytes;
+
+/**
+ * Ida e volta de um CardapioDTO com 20 preparos e de uma OrdemProducaoDTO com
+ * 20 itens (que embute o cardapio), os maiores grafos da API depois do pedido.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class CardapioOrdemProducaoBenchmark {
+
+    @Param({"cardapio", "ordemProducao"})
+    String dto;
+
+    @Param({"fabrica", "reflexivo"})
+    String gson;
+
+    private Gson configuracao;
+    private Object valor;
+    private Class<?> tipo;
+    private String json;
+    private byte[] bytes;
+    private EscritorJsonBytes escritor;
+
+    @Setup
+    public void preparar() {
+        configuracao = ConfiguracoesGson.por(gson);
+        valor = dto.equals("cardapio") ? Amostras.cardapio(20) : Amostras.ordemProducao(20);
+        tipo = valor.getClass();
+        json = configuracao.toJson(valor);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        escritor = new EscritorJsonBytes(bytes.length, false);
+    }
+
+    @Benchmark
+    public String serializar() {
+        return configuracao.toJson(valor);
+    }
+
+    @Benchmark
+    public int serializarBytes() {
+        escritor.limpar();
+        return escritor.escrever(configuracao, valor).getTamanho();
+    }
+
+    @Benchmark
+    public Object desserializar() {
+        return configuracao.fromJson(json, tipo);
+    }
+
+    @Benchmark
+    public Object desserializarBytes() {
+        return configuracao.fromJson(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8), tipo);
+    }
+}
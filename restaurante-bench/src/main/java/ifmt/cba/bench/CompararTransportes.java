@@ -0,0 +1,161 @@
+package ifmt.cba.bench;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ifmt.cba.carga.GeradorCarga;
+import ifmt.cba.carga.HistogramaLatencias;
+
+/**
+ * Roda a mesma carga mista ({@link Operacao}) por cada pilha de cliente contra
+ * um {@link ServidorSubstituto} local e imprime vazao e percentis de latencia
+ * por transporte e por operacao.
+ * <p>
+ * Cada transporte tem um aquecimento descartado e uma medicao com
+ * {@code threads} threads. Sem {@code --taxa}, em laco fechado: cada thread
+ * envia a proxima requisicao quando a anterior termina. Com {@code --taxa}
+ * (requisicoes por segundo, somando as threads), cada thread segue uma agenda
+ * fixa e a latencia conta a partir do instante agendado, nao do envio: uma
+ * resposta lenta atrasa as seguintes, e esse atraso aparece nos percentis em
+ * vez de sumir (omissao coordenada). Opcoes, todas com padrao:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar ifmt.cba.bench.CompararTransportes \
+ *     --transportes=restassured,httpclient-h1,httpclient-h2,nio \
+ *     --threads=8 --aquecimento=5 --duracao=15 --taxa=0
+ * </pre>
+ */
+public final class CompararTransportes {
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private CompararTransportes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = GeradorCarga.opcoes(args);
+        String[] nomes = opcoes.getOrDefault("transportes", "restassured,httpclient-h1,httpclient-h2,nio").split(",");
+        int threads = Integer.parseInt(opcoes.getOrDefault("threads", "8"));
+        long aquecimento = Long.parseLong(opcoes.getOrDefault("aquecimento", "5")) * 1_000_000_000L;
+        long duracao = Long.parseLong(opcoes.getOrDefault("duracao", "15")) * 1_000_000_000L;
+        double taxa = Double.parseDouble(opcoes.getOrDefault("taxa", "0"));
+        // intervalo entre envios de uma mesma thread; 0 para laco fechado
+        long intervalo = taxa > 0 ? (long) (threads * 1e9 / taxa) : 0;
+
+        try (ServidorSubstituto servidor = new ServidorSubstituto()) {
+            System.out.printf("servidor %s, %d threads, aquecimento %ds, medicao %ds, %s%n",
+                    servidor.getUrl(), threads, aquecimento / 1_000_000_000L, duracao / 1_000_000_000L,
+                    taxa > 0 ? String.format("%.0f req/s agendadas", taxa) : "laco fechado");
+            for (String nome : nomes) {
+                try (Transporte transporte = criar(nome.trim(), servidor)) {
+                    executar(transporte, threads, aquecimento, intervalo);
+                    imprimir(transporte, executar(transporte, threads, duracao, intervalo));
+                }
+            }
+        }
+    }
+
+    static Transporte criar(String nome, ServidorSubstituto servidor) {
+        return switch (nome) {
+            case "restassured" -> new TransporteRestAssured(servidor.getUrl());
+            case "httpclient-h1" -> new TransporteHttpClient(servidor.getUrl(), HttpClient.Version.HTTP_1_1);
+            case "httpclient-h2" -> new TransporteHttpClient(servidor.getUrl(), HttpClient.Version.HTTP_2);
+            case "nio" -> new TransporteNio("localhost", servidor.getPorta());
+            default -> throw new IllegalArgumentException("Transporte desconhecido: " + nome);
+        };
+    }
+
+    private static Resultado executar(Transporte transporte, int threads, long duracao, long intervalo)
+            throws InterruptedException {
+        AtomicLong erros = new AtomicLong();
+        AtomicReference<Exception> primeiroErro = new AtomicReference<>();
+        List<Thread> trabalhadores = new ArrayList<>();
+        // um histograma por thread e operacao, somados depois do join
+        List<Map<Operacao, HistogramaLatencias>> gravacoes = new ArrayList<>();
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao;
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom aleatorio = new SplittableRandom(t);
+            Map<Operacao, HistogramaLatencias> latencias = new EnumMap<>(Operacao.class);
+            for (Operacao operacao : Operacao.values()) {
+                latencias.put(operacao, new HistogramaLatencias());
+            }
+            gravacoes.add(latencias);
+            // agendas das threads defasadas para nao enviarem juntas
+            long primeiro = inicio + intervalo * t / threads;
+            trabalhadores.add(Thread.ofPlatform().name("carga-" + t).start(() -> {
+                long agendado = primeiro;
+                while (agendado - fim < 0) {
+                    Operacao operacao = Operacao.sortear(aleatorio);
+                    String caminho = operacao.caminho(aleatorio);
+                    long envio;
+                    if (intervalo > 0) {
+                        GeradorCarga.esperarAte(agendado);
+                        envio = agendado;
+                    } else {
+                        envio = System.nanoTime();
+                    }
+                    boolean sucesso = false;
+                    try {
+                        transporte.enviar(operacao.metodo, caminho, operacao.corpo());
+                        sucesso = true;
+                    } catch (Exception e) {
+                        erros.incrementAndGet();
+                        primeiroErro.compareAndSet(null, e);
+                    }
+                    long termino = System.nanoTime();
+                    // falhas rapidas (conexao recusada, 5xx) puxariam os percentis para baixo
+                    if (sucesso) {
+                        latencias.get(operacao).gravar(termino - envio);
+                    }
+                    agendado = intervalo > 0 ? agendado + intervalo : termino;
+                }
+            }));
+        }
+        for (Thread trabalhador : trabalhadores) {
+            trabalhador.join();
+        }
+        Map<Operacao, HistogramaLatencias> porOperacao = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : Operacao.values()) {
+            HistogramaLatencias soma = new HistogramaLatencias();
+            for (Map<Operacao, HistogramaLatencias> latencias : gravacoes) {
+                soma.somar(latencias.get(operacao));
+            }
+            porOperacao.put(operacao, soma);
+        }
+        return new Resultado(System.nanoTime() - inicio, erros.get(), primeiroErro.get(), porOperacao);
+    }
+
+    private static void imprimir(Transporte transporte, Resultado resultado) {
+        HistogramaLatencias todas = new HistogramaLatencias();
+        resultado.porOperacao.values().forEach(todas::somar);
+        System.out.printf("%n%s (%s): %.0f req/s, %d requisicoes, %d erros%n", transporte.getNome(),
+                transporte.getProtocolo(), (todas.getTotal() + resultado.erros) * 1e9 / resultado.nanos,
+                todas.getTotal() + resultado.erros, resultado.erros);
+        if (resultado.primeiroErro != null) {
+            System.out.println("  primeiro erro: " + resultado.primeiroErro);
+        }
+        System.out.printf("  %-18s %9s %9s %9s %9s %9s  (ms, so sucessos)%n", "operacao", "p50", "p90", "p99",
+                "p99.9", "max");
+        linha("todas", todas);
+        resultado.porOperacao.forEach((operacao, latencias) -> linha(operacao.name().toLowerCase(), latencias));
+    }
+
+    private static void linha(String rotulo, HistogramaLatencias latencias) {
+        StringBuilder texto = new StringBuilder(String.format("  %-18s", rotulo));
+        for (double percentil : PERCENTIS) {
+            texto.append(String.format(" %9.3f", latencias.getValorNoPercentil(percentil) / 1e6));
+        }
+        System.out.println(texto.append(String.format(" %9.3f", latencias.getMaximo() / 1e6)));
+    }
+
+    private record Resultado(long nanos, long erros, Exception primeiroErro,
+            Map<Operacao, HistogramaLatencias> porOperacao) {
+    }
+}
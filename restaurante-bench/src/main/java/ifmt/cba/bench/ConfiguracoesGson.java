@@ -0,0 +1,38 @@
+package ifmt.cba.bench;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import ifmt.cba.utils.FabricaGson;
+import ifmt.cba.utils.LocalDateAdapter;
+import ifmt.cba.utils.LocalTimeAdapter;
+
+/**
+ * Configuracoes comparadas nos benchmarks, escolhidas pelo {@code @Param gson}:
+ * <ul>
+ * <li>{@code fabrica}: o Gson dos testes e do cliente, com os codecs gerados;</li>
+ * <li>{@code deduplicado}: o mesmo, compartilhando entidades repetidas na leitura;</li>
+ * <li>{@code reflexivo}: so os adaptadores de data e hora, DTOs por reflexao,
+ * como os testes faziam antes dos codecs.</li>
+ * </ul>
+ */
+final class ConfiguracoesGson {
+
+    private ConfiguracoesGson() {
+    }
+
+    static Gson por(String nome) {
+        return switch (nome) {
+            case "fabrica" -> FabricaGson.getGson();
+            case "deduplicado" -> FabricaGson.getGsonDeduplicado();
+            case "reflexivo" -> new GsonBuilder()
+                    .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+                    .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
+                    .create();
+            default -> throw new IllegalArgumentException("Configuracao de Gson desconhecida: " + nome);
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package ifmt.cba.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import ifmt.cba.utils.LocalDateAdapter;
+import ifmt.cba.utils.LocalTimeAdapter;
+
+/**
+ * Escrita de {@value #VALORES} datas e horas por invocacao. O JsonWriter descarta
+ * a saida, entao o que sobra e a formatacao de cada adaptador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EscritaDataHoraBenchmark {
+
+    static final int VALORES = 100;
+
+    @Param({"atual", "legado"})
+    String implementacao;
+
+    private TypeAdapter<LocalDate> adaptadorData;
+    private TypeAdapter<LocalTime> adaptadorHora;
+    private final LocalDate[] datas = new LocalDate[VALORES];
+    private final LocalTime[] horas = new LocalTime[VALORES];
+
+    @Setup
+    public void preparar() {
+        boolean atual = implementacao.equals("atual");
+        adaptadorData = atual ? new LocalDateAdapter() : new LocalDateAdapterLegado();
+        adaptadorHora = atual ? new LocalTimeAdapter() : new LocalTimeAdapterLegado();
+        for (int i = 0; i < VALORES; i++) {
+            datas[i] = LocalDate.of(2024, 1, 1).plusDays(i * 37 % 366);
+            horas[i] = LocalTime.of(i % 24, i * 7 % 60, i * 13 % 60, i * 37 % 1000 * 1_000_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALORES)
+    public void escreverDatas() throws IOException {
+        JsonWriter escritor = new JsonWriter(Writer.nullWriter());
+        escritor.beginArray();
+        for (LocalDate data : datas) {
+            adaptadorData.write(escritor, data);
+        }
+        escritor.endArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALORES)
+    public void escreverHoras() throws IOException {
+        JsonWriter escritor = new JsonWriter(Writer.nullWriter());
+        escritor.beginArray();
+        for (LocalTime hora : horas) {
+            adaptadorHora.write(escritor, hora);
+        }
+        escritor.endArray();
+    }
+}
@@ -0,0 +1,36 @@
+package ifmt.cba.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar. Aceita as mesmas opcoes do
+ * {@code org.openjdk.jmh.Main}; sem nenhum {@code -prof}, liga o {@code gc}, que
+ * reporta bytes alocados por operacao ({@code gc.alloc.rate.norm}).
+ */
+public final class ExecutarBenchmarks {
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linha = new CommandLineOptions(args);
+        if (linha.shouldHelp()) {
+            linha.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linha);
+        if (linha.getProfilers().isEmpty()) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        Runner runner = new Runner(opcoes.build());
+        if (linha.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
@@ -0,0 +1,79 @@
+package ifmt.cba.bench;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import ifmt.cba.utils.LocalDateAdapter;
+
+/**
+ * Leitura de {@value #DATAS} datas por invocacao, espalhadas por um ano, e de
+ * texto invalido; atual contra a copia do LocalDateAdapter original.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeituraDataBenchmark {
+
+    static final int DATAS = 100;
+
+    @Param({"atual", "legado"})
+    String implementacao;
+
+    @Param({"yyyy-MM-dd", "malformado"})
+    String formato;
+
+    private TypeAdapter<LocalDate> adaptador;
+    private String json;
+
+    @Setup
+    public void preparar() {
+        adaptador = implementacao.equals("atual") ? new LocalDateAdapter() : new LocalDateAdapterLegado();
+        StringBuilder lista = new StringBuilder("[");
+        for (int i = 0; i < DATAS; i++) {
+            LocalDate data = LocalDate.of(2024, 1, 1).plusDays(i * 37 % 366);
+            String texto = formato.equals("malformado")
+                    ? data.getDayOfMonth() + "/" + data.getMonthValue() + "/" + data.getYear()
+                    : data.toString();
+            lista.append(i > 0 ? "," : "").append('"').append(texto).append('"');
+        }
+        json = lista.append(']').toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATAS)
+    public void ler(Blackhole buraco) throws IOException {
+        JsonReader leitor = new JsonReader(new StringReader(json));
+        leitor.beginArray();
+        for (int i = 0; i < DATAS; i++) {
+            try {
+                buraco.consume(adaptador.read(leitor));
+            } catch (IOException | RuntimeException e) {
+                // o original lanca DateTimeParseException, o atual IOException
+                buraco.consume(e);
+            }
+        }
+        leitor.endArray();
+    }
+}
@@ -0,0 +1,82 @@
+package ifmt.cba.bench;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import ifmt.cba.utils.LocalTimeAdapter;
+
+/**
+ * Leitura de {@value #HORAS} horas por invocacao em cada formato aceito e em
+ * texto invalido, comparando o LocalTimeAdapter atual com a copia do original,
+ * que so chega ao formato certo (ou ao erro) depois de lancar excecoes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LeituraHoraBenchmark {
+
+    static final int HORAS = 100;
+
+    @Param({"atual", "legado"})
+    String implementacao;
+
+    @Param({"HH:mm:ss", "HH:mm:ss.SS", "HH:mm:ss.SSS", "malformado"})
+    String formato;
+
+    private TypeAdapter<LocalTime> adaptador;
+    private String json;
+
+    @Setup
+    public void preparar() {
+        adaptador = implementacao.equals("atual") ? new LocalTimeAdapter() : new LocalTimeAdapterLegado();
+        StringBuilder lista = new StringBuilder("[");
+        for (int i = 0; i < HORAS; i++) {
+            LocalTime hora = LocalTime.of(i % 24, i * 7 % 60, i * 13 % 60, i * 37 % 1000 * 1_000_000);
+            String texto = formato.equals("malformado")
+                    ? hora.getHour() + "h" + hora.getMinute() + "m"
+                    : hora.format(DateTimeFormatter.ofPattern(formato));
+            lista.append(i > 0 ? "," : "").append('"').append(texto).append('"');
+        }
+        json = lista.append(']').toString();
+    }
+
+    /** Um JsonReader por invocacao; o custo dele se dilui nas {@value #HORAS} leituras. */
+    @Benchmark
+    @OperationsPerInvocation(HORAS)
+    public void ler(Blackhole buraco) throws IOException {
+        JsonReader leitor = new JsonReader(new StringReader(json));
+        leitor.beginArray();
+        for (int i = 0; i < HORAS; i++) {
+            try {
+                buraco.consume(adaptador.read(leitor));
+            } catch (IOException e) {
+                // o valor ja foi consumido; a leitura segue no proximo
+                buraco.consume(e);
+            }
+        }
+        leitor.endArray();
+    }
+}
@@ -1,24 +1,28 @@
-package ifmt.cba.utils;
- 
-import com.google.gson.TypeAdapter;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
- 
+package ifmt.cba.bench;
+
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
- 
-public class LocalDateAdapter extends TypeAdapter<LocalDate> {
- 
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Copia do LocalDateAdapter original (antes do leitor manual com cache por
+ * dia), mantida como linha de base: {@link DateTimeFormatter} nos dois sentidos.
+ */
+final class LocalDateAdapterLegado extends TypeAdapter<LocalDate> {
+
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
- 
+
     @Override
     public void write(JsonWriter jsonWriter, LocalDate localDate) throws IOException {
         jsonWriter.value(localDate.format(formatter));
     }
- 
+
     @Override
     public LocalDate read(JsonReader jsonReader) throws IOException {
         return LocalDate.parse(jsonReader.nextString(), formatter);
     }
-}
\ No newline at end of file
+}
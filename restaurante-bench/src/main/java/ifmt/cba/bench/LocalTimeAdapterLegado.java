@@ -1,33 +1,37 @@
-package ifmt.cba.utils;
- 
-import com.google.gson.TypeAdapter;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
- 
+package ifmt.cba.bench;
+
 import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
- 
-public class LocalTimeAdapter extends TypeAdapter<LocalTime> {
- 
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Copia do LocalTimeAdapter original (antes da leitura em uma passada), mantida
+ * como linha de base: tenta os tres formatos em sequencia e usa a excecao de
+ * cada tentativa como sinal para a proxima.
+ */
+final class LocalTimeAdapterLegado extends TypeAdapter<LocalTime> {
+
     private static final DateTimeFormatter formatterWithMillis = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
     private static final DateTimeFormatter formatterWithoutMillis = DateTimeFormatter.ofPattern("HH:mm:ss");
     private static final DateTimeFormatter formatterWithTwoMillis = DateTimeFormatter.ofPattern("HH:mm:ss.SS");
- 
+
     @Override
     public void write(JsonWriter out, LocalTime value) throws IOException {
         if (value != null) {
-            out.value(value.format(formatterWithMillis)); // Mantém a formatação com milissegundos
+            out.value(value.format(formatterWithMillis));
         } else {
             out.nullValue();
         }
     }
- 
+
     @Override
     public LocalTime read(JsonReader in) throws IOException {
         String time = in.nextString();
-        // Tenta parsear com diferentes formatos
         try {
             return LocalTime.parse(time, formatterWithMillis);
         } catch (DateTimeParseException e1) {
@@ -42,4 +46,4 @@ public class LocalTimeAdapter extends TypeAdapter<LocalTime> {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package ifmt.cba.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import ifmt.cba.utils.FabricaGson;
+
+/**
+ * Carga mista dos transportes: consultas de preparo, inclusoes de pedido e
+ * passagens para producao, nas proporcoes de {@link #peso}.
+ */
+enum Operacao {
+
+    CONSULTAR_PREPARO("GET", 60),
+    INCLUIR_PEDIDO("POST", 25),
+    PRODUCAO_PEDIDO("PUT", 15);
+
+    static final int ITENS_PEDIDO = 3;
+
+    /** Corpo de POST e PUT: o mesmo pedido, ja serializado, para todos os transportes. */
+    static final byte[] CORPO_PEDIDO = FabricaGson.getGson().toJson(Amostras.pedido(ITENS_PEDIDO))
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final Operacao[] TODAS = values();
+    private static final int PESO_TOTAL = 100;
+
+    final String metodo;
+    final int peso;
+
+    Operacao(String metodo, int peso) {
+        this.metodo = metodo;
+        this.peso = peso;
+    }
+
+    static Operacao sortear(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(PESO_TOTAL);
+        for (Operacao operacao : TODAS) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Pesos das operacoes nao somam " + PESO_TOTAL);
+    }
+
+    String caminho(SplittableRandom aleatorio) {
+        return switch (this) {
+            case CONSULTAR_PREPARO -> "/preparo/codigo/" + (aleatorio.nextInt(ServidorSubstituto.PREPAROS) + 1);
+            case INCLUIR_PEDIDO -> "/pedido/";
+            case PRODUCAO_PEDIDO -> "/pedido/producao";
+        };
+    }
+
+    byte[] corpo() {
+        return this == CONSULTAR_PREPARO ? null : CORPO_PEDIDO;
+    }
+}
@@ -0,0 +1,79 @@
+package ifmt.cba.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.Gson;
+
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.utils.EscritorJsonBytes;
+
+/**
+ * Ida e volta de um PedidoDTO com 1 a 1000 itens: para String, como nos testes,
+ * e para bytes, como o cliente envia e recebe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    int itens;
+
+    @Param({"fabrica", "reflexivo"})
+    String gson;
+
+    private Gson configuracao;
+    private PedidoDTO pedido;
+    private String json;
+    private byte[] bytes;
+    private EscritorJsonBytes escritor;
+
+    @Setup
+    public void preparar() {
+        configuracao = ConfiguracoesGson.por(gson);
+        pedido = Amostras.pedido(itens);
+        json = configuracao.toJson(pedido);
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        escritor = new EscritorJsonBytes(bytes.length, false);
+    }
+
+    @Benchmark
+    public String serializar() {
+        return configuracao.toJson(pedido);
+    }
+
+    @Benchmark
+    public int serializarBytes() {
+        escritor.limpar();
+        return escritor.escrever(configuracao, pedido).getTamanho();
+    }
+
+    @Benchmark
+    public PedidoDTO desserializar() {
+        return configuracao.fromJson(json, PedidoDTO.class);
+    }
+
+    @Benchmark
+    public PedidoDTO desserializarBytes() {
+        return configuracao.fromJson(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8),
+                PedidoDTO.class);
+    }
+}
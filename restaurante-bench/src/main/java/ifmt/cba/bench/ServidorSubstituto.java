@@ -0,0 +1,111 @@
+package ifmt.cba.bench;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+
+import com.google.gson.Gson;
+
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.utils.FabricaGson;
+
+/**
+ * Servidor local no lugar da API do restaurante, so com as rotas da carga de
+ * {@link Operacao}. As respostas sao serializadas uma vez no inicio, entao o
+ * custo do servidor e pequeno e igual para todos os transportes.
+ * <p>
+ * Fala HTTP/1.1 e HTTP/2 sem TLS (h2c, por upgrade ou conhecimento previo) na
+ * mesma porta; o HttpServer do JDK nao tem HTTP/2, por isso o Jetty.
+ */
+final class ServidorSubstituto implements AutoCloseable {
+
+    static final int PREPAROS = 50;
+
+    private final Server servidor = new Server();
+    private final ServerConnector conector;
+    private final byte[][] preparos = new byte[PREPAROS + 1][];
+    private final byte[] pedidoIncluido;
+    private final byte[] pedidoProducao;
+
+    ServidorSubstituto() throws Exception {
+        Gson gson = FabricaGson.getGson();
+        for (int codigo = 1; codigo <= PREPAROS; codigo++) {
+            preparos[codigo] = gson.toJson(Amostras.preparo(codigo)).getBytes(StandardCharsets.UTF_8);
+        }
+        PedidoDTO pedido = Amostras.pedido(Operacao.ITENS_PEDIDO);
+        pedido.setEstado(EstadoPedidoDTO.REGISTRADO);
+        pedidoIncluido = gson.toJson(pedido).getBytes(StandardCharsets.UTF_8);
+        pedido.setEstado(EstadoPedidoDTO.PRODUCAO);
+        pedidoProducao = gson.toJson(pedido).getBytes(StandardCharsets.UTF_8);
+
+        HttpConfiguration configuracao = new HttpConfiguration();
+        conector = new ServerConnector(servidor,
+                new HttpConnectionFactory(configuracao),
+                new HTTP2CServerConnectionFactory(configuracao));
+        conector.setHost("localhost");
+        conector.setPort(0);
+        servidor.addConnector(conector);
+        servidor.setHandler(new Handler.Abstract() {
+            @Override
+            public boolean handle(Request requisicao, Response resposta, Callback callback) throws Exception {
+                // o corpo enviado e descartado, mas precisa ser lido ate o fim
+                Content.Source.consumeAll(requisicao);
+                byte[] corpo = responder(requisicao.getMethod(), requisicao.getHttpURI().getPath());
+                if (corpo == null) {
+                    Response.writeError(requisicao, resposta, callback, HttpStatus.NOT_FOUND_404);
+                    return true;
+                }
+                resposta.setStatus(HttpStatus.OK_200);
+                resposta.getHeaders().put(HttpHeader.CONTENT_TYPE, "application/json");
+                resposta.getHeaders().put(HttpHeader.CONTENT_LENGTH, corpo.length);
+                resposta.write(true, ByteBuffer.wrap(corpo), callback);
+                return true;
+            }
+        });
+        servidor.start();
+    }
+
+    private byte[] responder(String metodo, String caminho) {
+        if (metodo.equals("GET") && caminho.startsWith("/preparo/codigo/")) {
+            try {
+                int codigo = Integer.parseInt(caminho.substring("/preparo/codigo/".length()));
+                return codigo >= 1 && codigo <= PREPAROS ? preparos[codigo] : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (metodo.equals("POST") && caminho.equals("/pedido/")) {
+            return pedidoIncluido;
+        }
+        if (metodo.equals("PUT") && caminho.equals("/pedido/producao")) {
+            return pedidoProducao;
+        }
+        return null;
+    }
+
+    int getPorta() {
+        return conector.getLocalPort();
+    }
+
+    String getUrl() {
+        return "http://localhost:" + getPorta();
+    }
+
+    @Override
+    public void close() throws Exception {
+        servidor.stop();
+    }
+}
@@ -0,0 +1,28 @@
+package ifmt.cba.bench;
+
+/**
+ * Pilha de cliente HTTP comparada por {@link CompararTransportes}. As
+ * implementacoes sao usadas por varias threads ao mesmo tempo.
+ */
+interface Transporte extends AutoCloseable {
+
+    String getNome();
+
+    /**
+     * Envia a requisicao e le a resposta inteira.
+     *
+     * @param corpo JSON ja serializado, ou {@code null} para GET
+     * @return tamanho do corpo da resposta, em bytes
+     * @throws IllegalStateException se o status nao for 200
+     */
+    int enviar(String metodo, String caminho, byte[] corpo) throws Exception;
+
+    /** Protocolo efetivamente usado, quando o transporte sabe informar. */
+    default String getProtocolo() {
+        return "HTTP/1.1";
+    }
+
+    @Override
+    default void close() throws Exception {
+    }
+}
@@ -0,0 +1,57 @@
+package ifmt.cba.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * {@link HttpClient} do JDK, um so para todas as threads, como o
+ * {@code ClienteRestaurante} usa. Com HTTP/2 a primeira requisicao negocia h2c
+ * por upgrade e as demais sao multiplexadas na mesma conexao.
+ */
+final class TransporteHttpClient implements Transporte {
+
+    private final HttpClient http;
+    private final String url;
+    private volatile HttpClient.Version protocolo;
+
+    TransporteHttpClient(String url, HttpClient.Version versao) {
+        this.url = url;
+        this.http = HttpClient.newBuilder().version(versao).build();
+    }
+
+    @Override
+    public String getNome() {
+        return http.version() == HttpClient.Version.HTTP_2 ? "httpclient-h2" : "httpclient-h1";
+    }
+
+    @Override
+    public int enviar(String metodo, String caminho, byte[] corpo) throws Exception {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url + caminho))
+                .header("Accept", "application/json");
+        if (corpo == null) {
+            requisicao.method(metodo, HttpRequest.BodyPublishers.noBody());
+        } else {
+            requisicao.header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofByteArray(corpo));
+        }
+        HttpResponse<byte[]> resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException(metodo + " " + caminho + ": " + resposta.statusCode());
+        }
+        protocolo = resposta.version();
+        return resposta.body().length;
+    }
+
+    @Override
+    public String getProtocolo() {
+        HttpClient.Version ultimo = protocolo;
+        return ultimo == null ? "?" : ultimo == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+
+    @Override
+    public void close() {
+        http.close();
+    }
+}
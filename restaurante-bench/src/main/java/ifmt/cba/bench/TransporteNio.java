@@ -0,0 +1,181 @@
+package ifmt.cba.bench;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cliente HTTP/1.1 minimo sobre {@link SocketChannel}: uma conexao keep-alive
+ * por thread, requisicao montada e resposta interpretada a mao em buffers
+ * reaproveitados. Mostra o piso de custo do lado do cliente; so entende
+ * respostas com Content-Length, como as do {@link ServidorSubstituto}.
+ */
+final class TransporteNio implements Transporte {
+
+    /** Em minusculas; a comparacao ignora caixa. */
+    private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.US_ASCII);
+
+    private final InetSocketAddress endereco;
+    private final byte[] host;
+    private final List<Conexao> conexoes = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Conexao> conexao = new ThreadLocal<>();
+
+    TransporteNio(String host, int porta) {
+        this.endereco = new InetSocketAddress(host, porta);
+        this.host = ("Host: " + host + ":" + porta + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String getNome() {
+        return "nio";
+    }
+
+    @Override
+    public int enviar(String metodo, String caminho, byte[] corpo) throws IOException {
+        Conexao atual = conexao.get();
+        if (atual == null) {
+            atual = new Conexao(SocketChannel.open(endereco));
+            conexoes.add(atual);
+            conexao.set(atual);
+        }
+        return atual.enviar(metodo, caminho, corpo);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Conexao aberta : conexoes) {
+            aberta.canal.close();
+        }
+    }
+
+    private final class Conexao {
+
+        private final SocketChannel canal;
+        private ByteBuffer saida = ByteBuffer.allocateDirect(16 * 1024);
+        private ByteBuffer entrada = ByteBuffer.allocateDirect(64 * 1024);
+
+        Conexao(SocketChannel canal) throws IOException {
+            this.canal = canal;
+            canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+
+        int enviar(String metodo, String caminho, byte[] corpo) throws IOException {
+            escrever(metodo, caminho, corpo);
+            return ler(metodo, caminho);
+        }
+
+        private void escrever(String metodo, String caminho, byte[] corpo) throws IOException {
+            int tamanhoCorpo = corpo == null ? 0 : corpo.length;
+            if (saida.capacity() < 512 + caminho.length() + tamanhoCorpo) {
+                saida = ByteBuffer.allocateDirect(2 * (512 + caminho.length() + tamanhoCorpo));
+            }
+            saida.clear();
+            ascii(metodo);
+            saida.put((byte) ' ');
+            ascii(caminho);
+            ascii(" HTTP/1.1\r\n");
+            saida.put(host);
+            ascii("Accept: application/json\r\n");
+            if (corpo != null) {
+                ascii("Content-Type: application/json\r\nContent-Length: ");
+                ascii(Integer.toString(corpo.length));
+                ascii("\r\n");
+            }
+            ascii("\r\n");
+            if (corpo != null) {
+                saida.put(corpo);
+            }
+            saida.flip();
+            while (saida.hasRemaining()) {
+                canal.write(saida);
+            }
+        }
+
+        /** Le cabecalhos e corpo; devolve o tamanho do corpo. */
+        private int ler(String metodo, String caminho) throws IOException {
+            entrada.clear();
+            int fimCabecalho;
+            while ((fimCabecalho = fimCabecalho()) < 0) {
+                lerMais();
+            }
+            int status = (entrada.get(9) - '0') * 100 + (entrada.get(10) - '0') * 10 + (entrada.get(11) - '0');
+            int tamanhoCorpo = contentLength(fimCabecalho);
+            int total = fimCabecalho + tamanhoCorpo;
+            if (entrada.capacity() < total) {
+                ByteBuffer maior = ByteBuffer.allocateDirect(Integer.highestOneBit(total) * 2);
+                maior.put(entrada.flip());
+                entrada = maior;
+            }
+            while (entrada.position() < total) {
+                lerMais();
+            }
+            if (status != 200) {
+                throw new IllegalStateException(metodo + " " + caminho + ": " + status);
+            }
+            return tamanhoCorpo;
+        }
+
+        private void lerMais() throws IOException {
+            if (!entrada.hasRemaining()) {
+                ByteBuffer maior = ByteBuffer.allocateDirect(entrada.capacity() * 2);
+                maior.put(entrada.flip());
+                entrada = maior;
+            }
+            if (canal.read(entrada) < 0) {
+                throw new IOException("Conexao fechada pelo servidor");
+            }
+        }
+
+        /** Posicao logo apos o {@code \r\n\r\n}, ou -1 se ainda nao chegou. */
+        private int fimCabecalho() {
+            for (int i = 3; i < entrada.position(); i++) {
+                if (entrada.get(i) == '\n' && entrada.get(i - 1) == '\r'
+                        && entrada.get(i - 2) == '\n' && entrada.get(i - 3) == '\r') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        private int contentLength(int fimCabecalho) {
+            int linha = 0;
+            while (linha < fimCabecalho) {
+                if (comeca(linha, CONTENT_LENGTH)) {
+                    int valor = 0;
+                    for (int i = linha + CONTENT_LENGTH.length; entrada.get(i) != '\r'; i++) {
+                        byte c = entrada.get(i);
+                        if (c != ' ') {
+                            valor = valor * 10 + (c - '0');
+                        }
+                    }
+                    return valor;
+                }
+                while (entrada.get(linha) != '\n') {
+                    linha++;
+                }
+                linha++;
+            }
+            throw new IllegalStateException("Resposta sem Content-Length");
+        }
+
+        private boolean comeca(int posicao, byte[] prefixo) {
+            for (int i = 0; i < prefixo.length; i++) {
+                if ((entrada.get(posicao + i) | 0x20) != prefixo[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void ascii(String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                saida.put((byte) texto.charAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ifmt.cba.bench;
+
+import static io.restassured.RestAssured.given;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * RestAssured como os testes usam: {@code given()...when()} a cada requisicao,
+ * com a configuracao padrao (um cliente Apache novo por requisicao) e o corpo
+ * lido com {@code asString()}.
+ */
+final class TransporteRestAssured implements Transporte {
+
+    private final String url;
+
+    TransporteRestAssured(String url) {
+        this.url = url;
+    }
+
+    @Override
+    public String getNome() {
+        return "restassured";
+    }
+
+    @Override
+    public int enviar(String metodo, String caminho, byte[] corpo) {
+        RequestSpecification requisicao = given().baseUri(url).accept(ContentType.JSON);
+        if (corpo != null) {
+            requisicao.contentType(ContentType.JSON).body(corpo);
+        }
+        Response resposta = requisicao.when().request(metodo, caminho);
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException(metodo + " " + caminho + ": " + resposta.statusCode());
+        }
+        return resposta.asString().length();
+    }
+}
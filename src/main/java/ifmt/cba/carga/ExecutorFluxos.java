@@ -0,0 +1,110 @@
+package ifmt.cba.carga;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Executa cada fluxo (um usuario, um pedido) na sua propria virtual thread.
+ * As chamadas bloqueantes do {@link ifmt.cba.client.ClienteRestaurante} liberam a
+ * thread de plataforma enquanto esperam o servidor, entao dezenas de milhares de
+ * fluxos podem ficar em andamento ao mesmo tempo.
+ *
+ * Opcionalmente limita quantos fluxos ficam em voo simultaneamente, para nao
+ * esgotar portas locais ou o pool de conexoes do servidor.
+ */
+public class ExecutorFluxos implements AutoCloseable {
+
+    static final int MAX_ERROS_GUARDADOS = 20;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore emVoo;
+
+    public ExecutorFluxos() {
+        this(0);
+    }
+
+    /**
+     * @param maxEmVoo limite de fluxos simultaneos; 0 para ilimitado
+     */
+    public ExecutorFluxos(int maxEmVoo) {
+        if (maxEmVoo < 0) {
+            throw new IllegalArgumentException("maxEmVoo deve ser >= 0");
+        }
+        this.emVoo = maxEmVoo > 0 ? new Semaphore(maxEmVoo) : null;
+    }
+
+    public <T> CompletableFuture<T> submeter(Callable<T> fluxo) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                if (emVoo != null) {
+                    emVoo.acquire();
+                }
+                try {
+                    resultado.complete(fluxo.call());
+                } finally {
+                    if (emVoo != null) {
+                        emVoo.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                resultado.completeExceptionally(e);
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Dispara {@code quantidade} fluxos criados por {@code fabrica} (recebe o indice
+     * do fluxo) e espera todos terminarem.
+     */
+    public ResumoExecucao executar(int quantidade, IntFunction<? extends Callable<?>> fabrica) {
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger falhas = new AtomicInteger();
+        List<Throwable> erros = Collections.synchronizedList(new ArrayList<>());
+
+        long inicio = System.nanoTime();
+        CompletableFuture<?>[] fluxos = new CompletableFuture<?>[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            fluxos[i] = submeter(fabrica.apply(i)).whenComplete((valor, erro) -> {
+                if (erro == null) {
+                    sucessos.incrementAndGet();
+                } else {
+                    falhas.incrementAndGet();
+                    guardarErro(erros, erro);
+                }
+            });
+        }
+        CompletableFuture.allOf(fluxos).exceptionally(erro -> null).join();
+
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        return new ResumoExecucao(sucessos.get(), falhas.get(), duracao, List.copyOf(erros));
+    }
+
+    /** Guarda {@code erro} se ainda couber na amostra de {@link #MAX_ERROS_GUARDADOS}. */
+    static void guardarErro(List<Throwable> erros, Throwable erro) {
+        // verificar e adicionar juntos: fluxos terminam em paralelo
+        synchronized (erros) {
+            if (erros.size() < MAX_ERROS_GUARDADOS) {
+                erros.add(erro);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
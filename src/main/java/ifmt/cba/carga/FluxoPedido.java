@@ -0,0 +1,109 @@
+package ifmt.cba.carga;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import ifmt.cba.client.ClienteRestaurante;
+import ifmt.cba.client.ModeloCorpo;
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+
+/**
+ * Ciclo de vida completo de um pedido, como em PedidoServicoTest.testMudarEstadoPedido:
+ * consulta cliente e preparo, registra o pedido e o leva de REGISTRADO ate CONCLUIDO.
+ */
+public class FluxoPedido implements Callable<PedidoDTO> {
+
+    /** Vagas do {@link #modelo}: data, hora e quantidade de porcoes. */
+    static final String[] VAGAS = {"$.dataPedido", "$.horaPedido", "$.listaItens[0].quantidadePorcao"};
+
+    private final ClienteRestaurante api;
+    private final ModeloCorpo modelo;
+    private final int codigoCliente;
+    private final int codigoPreparo;
+    private final int codigoEntregador;
+    private final int quantidadePorcao;
+
+    public FluxoPedido(ClienteRestaurante api) {
+        this(api, 1, 3, 1, 7);
+    }
+
+    public FluxoPedido(ClienteRestaurante api, int codigoCliente, int codigoPreparo, int codigoEntregador, int quantidadePorcao) {
+        this(api, null, codigoCliente, codigoPreparo, codigoEntregador, quantidadePorcao);
+    }
+
+    /** Como o construtor padrao, mas montando o corpo da inclusao a partir de {@code modelo}. */
+    public FluxoPedido(ClienteRestaurante api, ModeloCorpo modelo) {
+        this(api, modelo, 1, 3, 1, 7);
+    }
+
+    /**
+     * @param modelo corpo pre-serializado, de {@link #modelo}, com o mesmo cliente e
+     *               preparo; {@code null} para serializar um PedidoDTO a cada fluxo
+     */
+    public FluxoPedido(ClienteRestaurante api, ModeloCorpo modelo, int codigoCliente, int codigoPreparo,
+            int codigoEntregador, int quantidadePorcao) {
+        this.api = api;
+        this.modelo = modelo;
+        this.codigoCliente = codigoCliente;
+        this.codigoPreparo = codigoPreparo;
+        this.codigoEntregador = codigoEntregador;
+        this.quantidadePorcao = quantidadePorcao;
+    }
+
+    @Override
+    public PedidoDTO call() {
+        ClienteDTO clienteDTO = api.clientes().porCodigo(codigoCliente);
+        PreparoProdutoDTO preparoProdutoDTO = api.preparos().porCodigo(codigoPreparo);
+
+        PedidoDTO pedido = modelo == null
+                ? api.pedidos().incluir(novoPedido(clienteDTO, preparoProdutoDTO))
+                : api.pedidos().incluir(modelo.novoCorpo()
+                        .data(0, LocalDate.now())
+                        .hora(1, LocalTime.now())
+                        .inteiro(2, quantidadePorcao));
+        pedido = api.pedidos().producao(pedido);
+        pedido = api.pedidos().pronto(pedido);
+        pedido.setEntregador(api.entregadores().porCodigo(codigoEntregador));
+        pedido = api.pedidos().entrega(pedido);
+        return api.pedidos().concluido(pedido);
+    }
+
+    /**
+     * Consulta cliente e preparo uma vez e pre-serializa o pedido; os fluxos
+     * criados com o modelo continuam fazendo as consultas, mas nao serializam
+     * mais o DTO.
+     */
+    public static ModeloCorpo modelo(ClienteRestaurante api, int codigoCliente, int codigoPreparo) {
+        PedidoDTO prototipo = novoPedido(api.clientes().porCodigo(codigoCliente),
+                api.preparos().porCodigo(codigoPreparo), 0);
+        return api.pedidos().modelo(prototipo, VAGAS);
+    }
+
+    PedidoDTO novoPedido(ClienteDTO clienteDTO, PreparoProdutoDTO preparoProdutoDTO) {
+        return novoPedido(clienteDTO, preparoProdutoDTO, quantidadePorcao);
+    }
+
+    static PedidoDTO novoPedido(ClienteDTO clienteDTO, PreparoProdutoDTO preparoProdutoDTO, int quantidadePorcao) {
+        ItemPedidoDTO itemPedidoDTO = new ItemPedidoDTO();
+        itemPedidoDTO.setPreparoProduto(preparoProdutoDTO);
+        itemPedidoDTO.setQuantidadePorcao(quantidadePorcao);
+
+        List<ItemPedidoDTO> listaItens = new ArrayList<ItemPedidoDTO>();
+        listaItens.add(itemPedidoDTO);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setDataPedido(LocalDate.now());
+        pedidoDTO.setHoraPedido(LocalTime.now());
+        pedidoDTO.setCliente(clienteDTO);
+        pedidoDTO.setEstado(EstadoPedidoDTO.REGISTRADO);
+        pedidoDTO.setListaItens(listaItens);
+        return pedidoDTO;
+    }
+}
@@ -0,0 +1,188 @@
+package ifmt.cba.carga;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import ifmt.cba.client.ClienteRestaurante;
+import ifmt.cba.client.ConfiguracaoCliente;
+import ifmt.cba.client.ModeloCorpo;
+
+/**
+ * Gerador de carga em modelo aberto: os fluxos chegam num processo de Poisson
+ * com a taxa pedida, independentemente de quantos ainda estao em andamento.
+ * Num laco fechado (N usuarios que so enviam o proximo pedido quando o anterior
+ * termina) um servidor lento reduz a propria carga e a fila nao aparece; aqui,
+ * passado o limite do servidor, os fluxos se acumulam e a latencia cresce.
+ *
+ * <pre>
+ * java -cp target/classes:... ifmt.cba.carga.GeradorCarga \
+ *     --url=http://localhost:8080 --taxa=5,10,20,40 --duracao=60
+ * </pre>
+ *
+ * Cada taxa da lista e um patamar de {@code duracao} segundos, executado em
+ * sequencia; o teto de vazao e o patamar em que fluxos/s deixa de acompanhar a
+ * taxa oferecida e a latencia dispara. Outras opcoes: {@code --maxEmVoo}
+ * (limite de fluxos simultaneos, 0 para ilimitado), {@code --semente} e
+ * {@code --modelo=true} (corpo do pedido pre-serializado, ver
+ * {@link FluxoPedido#modelo}). Alem da latencia dos fluxos, imprime a de cada
+ * endpoint, com a primeira requisicao de cada fluxo contada a partir da chegada
+ * agendada (ver {@link RegistroLatencias}).
+ */
+public class GeradorCarga {
+
+    private final double taxaPorSegundo;
+    private final Duration duracao;
+    private final long semente;
+
+    public GeradorCarga(double taxaPorSegundo, Duration duracao) {
+        this(taxaPorSegundo, duracao, System.nanoTime());
+    }
+
+    /**
+     * @param taxaPorSegundo chegadas por segundo, em media
+     * @param duracao        janela em que novos fluxos chegam; os que estiverem em
+     *                       andamento no fim da janela ainda sao esperados
+     * @param semente        semente do sorteio dos intervalos, para repetir uma execucao
+     */
+    public GeradorCarga(double taxaPorSegundo, Duration duracao, long semente) {
+        if (!(taxaPorSegundo > 0)) {
+            throw new IllegalArgumentException("taxaPorSegundo deve ser > 0");
+        }
+        if (duracao.isNegative() || duracao.isZero()) {
+            throw new IllegalArgumentException("duracao deve ser positiva");
+        }
+        this.taxaPorSegundo = taxaPorSegundo;
+        this.duracao = duracao;
+        this.semente = semente;
+    }
+
+    /**
+     * Dispara os fluxos criados por {@code fabrica} (recebe o indice da chegada)
+     * nos instantes sorteados e espera todos terminarem.
+     */
+    public ResumoCarga executar(ExecutorFluxos executor, IntFunction<? extends Callable<?>> fabrica) {
+        return executar(executor, new RegistroLatencias(), fabrica);
+    }
+
+    /**
+     * Como {@link #executar(ExecutorFluxos, IntFunction)}, com a latencia por
+     * endpoint dos clientes configurados com {@code registro}, que e limpo antes
+     * de comecar.
+     */
+    public ResumoCarga executar(ExecutorFluxos executor, RegistroLatencias registro,
+            IntFunction<? extends Callable<?>> fabrica) {
+        registro.limpar();
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger falhas = new AtomicInteger();
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maxEmAndamento = new AtomicInteger();
+        List<Throwable> erros = Collections.synchronizedList(new ArrayList<>());
+        HistogramaLatencias latencias = new HistogramaLatencias();
+        List<CompletableFuture<?>> fluxos = new ArrayList<>();
+
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        long agendado = inicio;
+        long atrasoMaximo = 0;
+        for (int i = 0; ; i++) {
+            agendado += intervalo(aleatorio, taxaPorSegundo);
+            if (agendado - fim >= 0) {
+                break;
+            }
+            esperarAte(agendado);
+            // atrasado, o agendador dispara em seguida e mantem os instantes sorteados
+            atrasoMaximo = Math.max(atrasoMaximo, System.nanoTime() - agendado);
+
+            long chegada = agendado;
+            maxEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Callable<?> fluxo = registro.agendado(chegada, fabrica.apply(i));
+            fluxos.add(executor.submeter(fluxo).whenComplete((valor, erro) -> {
+                long latencia = System.nanoTime() - chegada;
+                synchronized (latencias) {
+                    latencias.gravar(latencia);
+                }
+                emAndamento.decrementAndGet();
+                if (erro == null) {
+                    sucessos.incrementAndGet();
+                } else {
+                    falhas.incrementAndGet();
+                    ExecutorFluxos.guardarErro(erros, erro);
+                }
+            }));
+        }
+        CompletableFuture.allOf(fluxos.toArray(CompletableFuture<?>[]::new)).exceptionally(erro -> null).join();
+
+        Duration total = Duration.ofNanos(System.nanoTime() - inicio);
+        synchronized (latencias) {
+            return new ResumoCarga(taxaPorSegundo, sucessos.get(), falhas.get(), total, List.copyOf(erros),
+                    maxEmAndamento.get(), Duration.ofNanos(atrasoMaximo), latencias.copiar(),
+                    registro.getPorEndpoint());
+        }
+    }
+
+    /** Intervalo exponencial ate a proxima chegada, em nanossegundos. */
+    static long intervalo(SplittableRandom aleatorio, double taxaPorSegundo) {
+        return (long) (-Math.log(1 - aleatorio.nextDouble()) * 1_000_000_000 / taxaPorSegundo);
+    }
+
+    /** Espera, sem ocupar a CPU, ate o instante {@link System#nanoTime()} informado. */
+    public static void esperarAte(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> opcoes = opcoes(args);
+        String url = opcoes.getOrDefault("url", ClienteRestaurante.URL_PADRAO);
+        Duration duracao = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("duracao", "60")));
+        int maxEmVoo = Integer.parseInt(opcoes.getOrDefault("maxEmVoo", "0"));
+        long semente = Long.parseLong(opcoes.getOrDefault("semente", "1"));
+
+        RegistroLatencias registro = new RegistroLatencias();
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setObservador(registro);
+        ClienteRestaurante api = new ClienteRestaurante(url, configuracao);
+        ModeloCorpo modelo = Boolean.parseBoolean(opcoes.getOrDefault("modelo", "false"))
+                ? FluxoPedido.modelo(api, 1, 3)
+                : null;
+
+        System.out.printf("%s, patamares de %ds, maxEmVoo=%d%n", url, duracao.toSeconds(), maxEmVoo);
+        try (ExecutorFluxos executor = new ExecutorFluxos(maxEmVoo)) {
+            for (String taxa : opcoes.getOrDefault("taxa", "10").split(",")) {
+                GeradorCarga gerador = new GeradorCarga(Double.parseDouble(taxa.trim()), duracao, semente);
+                ResumoCarga resumo = gerador.executar(executor, registro, i -> new FluxoPedido(api, modelo));
+                System.out.println(resumo);
+                resumo.getLatenciasPorEndpoint().forEach((endpoint, latencias) ->
+                        System.out.printf("  %-32s %s%n", endpoint, latencias));
+                for (Throwable erro : resumo.getErros()) {
+                    System.out.println("  " + erro);
+                }
+            }
+        }
+    }
+
+    /** Opcoes de linha de comando no formato {@code --chave=valor}, na ordem recebida. */
+    public static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opcao invalida, use --chave=valor: " + arg);
+            }
+            opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return opcoes;
+    }
+}
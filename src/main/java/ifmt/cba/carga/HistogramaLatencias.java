@@ -0,0 +1,119 @@
+package ifmt.cba.carga;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias em nanossegundos com faixa dinamica alta, no formato
+ * do HdrHistogram: contagens em faixas log-lineares, exatas abaixo de 256ns e
+ * com 128 sub-faixas por potencia de 2 dai em diante, o que da erro relativo
+ * abaixo de 1% ate {@link #MAXIMO_RASTREAVEL} com tamanho fixo (4352 contadores,
+ * cerca de 34 KB). Valores acima do maximo contam na ultima faixa; o maior
+ * valor gravado e guardado exato.
+ * <p>
+ * Nao e thread-safe: cada thread grava no seu histograma e os resultados sao
+ * juntados com {@link #somar}, como em {@link RegistroLatencias}.
+ */
+public class HistogramaLatencias {
+
+    private static final int BITS_SUB_FAIXA = 8;
+    private static final int METADE = 1 << (BITS_SUB_FAIXA - 1);
+
+    /** Cerca de 18 minutos. */
+    public static final long MAXIMO_RASTREAVEL = (1L << 40) - 1;
+
+    private static final int TAMANHO = indice(MAXIMO_RASTREAVEL) + 1;
+
+    private final long[] contagens = new long[TAMANHO];
+    private long total;
+    private long maximo;
+
+    public void gravar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens[indice(Math.min(valor, MAXIMO_RASTREAVEL))]++;
+        total++;
+        maximo = Math.max(maximo, valor);
+    }
+
+    public void somar(HistogramaLatencias outro) {
+        for (int i = 0; i < TAMANHO; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        total += outro.total;
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    public HistogramaLatencias copiar() {
+        HistogramaLatencias copia = new HistogramaLatencias();
+        copia.somar(this);
+        return copia;
+    }
+
+    public void limpar() {
+        Arrays.fill(contagens, 0);
+        total = 0;
+        maximo = 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Menor valor que cobre {@code percentil}% das gravacoes (0 a 100), arredondado
+     * para cima dentro da faixa e limitado ao maximo gravado; 0 se vazio.
+     */
+    public long getValorNoPercentil(double percentil) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, posicao(percentil, total));
+        long acumulado = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(maiorEquivalente(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Posicao (1 a total) do percentil, em aritmetica inteira sobre o percentil
+     * em milionesimos: em double, 99.9 / 100 * 1000 da 999.0000000000001 e o
+     * arredondamento para cima levaria o p99.9 de 1000 gravacoes ao maximo.
+     */
+    static long posicao(double percentil, long total) {
+        long milionesimos = Math.round(Math.max(0, Math.min(percentil, 100)) * 10_000);
+        return (milionesimos * total + 999_999) / 1_000_000;
+    }
+
+    /** Valores abaixo de 256 tem faixa propria; acima, 128 faixas por potencia de 2. */
+    static int indice(long valor) {
+        if (valor < 2 * METADE) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor) - (BITS_SUB_FAIXA - 1);
+        return expoente * METADE + (int) (valor >>> expoente);
+    }
+
+    static long maiorEquivalente(int indice) {
+        if (indice < 2 * METADE) {
+            return indice;
+        }
+        int expoente = indice / METADE - 1;
+        long subFaixa = indice - (long) expoente * METADE;
+        return ((subFaixa + 1) << expoente) - 1;
+    }
+
+    /** p50, p90, p99, p99.9 e maximo, em milissegundos. */
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms", total,
+                getValorNoPercentil(50) / 1e6, getValorNoPercentil(90) / 1e6, getValorNoPercentil(99) / 1e6,
+                getValorNoPercentil(99.9) / 1e6, maximo / 1e6);
+    }
+}
@@ -0,0 +1,121 @@
+package ifmt.cba.carga;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import ifmt.cba.client.ObservadorRequisicoes;
+
+/**
+ * Latencias por endpoint ({@code POST /pedido/}, {@code GET /preparo/codigo/{codigo}}),
+ * alimentado pelo {@link ifmt.cba.client.ClienteRestaurante} via
+ * {@link ifmt.cba.client.ConfiguracaoCliente#setObservador}.
+ * <p>
+ * Cada endpoint tem alguns {@link HistogramaLatencias}, escolhidos pela thread
+ * que grava, e que so sao somados na leitura; um histograma por thread nao
+ * serve aqui, ja que cada fluxo roda na sua propria virtual thread.
+ * <p>
+ * A primeira requisicao de um fluxo criado com {@link #agendado} conta a partir
+ * do instante agendado e nao do envio: se o fluxo esperou para comecar, a espera
+ * entra na latencia, em vez de sumir das medidas (omissao coordenada).
+ */
+public class RegistroLatencias implements ObservadorRequisicoes {
+
+    private final int faixas = 2 * Integer.highestOneBit(Runtime.getRuntime().availableProcessors());
+    private final Map<String, AtomicReferenceArray<HistogramaLatencias>> porEndpoint = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> inicioPretendido = new ThreadLocal<>();
+
+    /**
+     * Envolve {@code fluxo} para que a primeira requisicao que ele fizer conte a
+     * partir de {@code inicioPretendido} ({@link System#nanoTime()}).
+     */
+    public <T> Callable<T> agendado(long inicioPretendido, Callable<T> fluxo) {
+        return () -> {
+            this.inicioPretendido.set(inicioPretendido);
+            try {
+                return fluxo.call();
+            } finally {
+                this.inicioPretendido.remove();
+            }
+        };
+    }
+
+    @Override
+    public void requisicao(String metodo, String caminho, long inicio, long fim) {
+        Long pretendido = inicioPretendido.get();
+        if (pretendido != null) {
+            // as seguintes saem logo apos a anterior terminar, que e quando deveriam sair
+            inicioPretendido.remove();
+            inicio = Math.min(inicio, pretendido);
+        }
+        gravar(metodo + " " + endpoint(caminho), fim - inicio);
+    }
+
+    public void gravar(String endpoint, long nanos) {
+        AtomicReferenceArray<HistogramaLatencias> histogramas = porEndpoint.computeIfAbsent(endpoint,
+                chave -> new AtomicReferenceArray<>(faixas));
+        int faixa = (int) Thread.currentThread().threadId() & (faixas - 1);
+        HistogramaLatencias histograma = histogramas.get(faixa);
+        if (histograma == null) {
+            histogramas.compareAndSet(faixa, null, new HistogramaLatencias());
+            histograma = histogramas.get(faixa);
+        }
+        synchronized (histograma) {
+            histograma.gravar(nanos);
+        }
+    }
+
+    /** Copia somada dos histogramas de cada endpoint, em ordem alfabetica. */
+    public Map<String, HistogramaLatencias> getPorEndpoint() {
+        Map<String, HistogramaLatencias> copia = new TreeMap<>();
+        porEndpoint.forEach((endpoint, histogramas) -> {
+            HistogramaLatencias soma = new HistogramaLatencias();
+            for (int i = 0; i < histogramas.length(); i++) {
+                HistogramaLatencias histograma = histogramas.get(i);
+                if (histograma != null) {
+                    synchronized (histograma) {
+                        soma.somar(histograma);
+                    }
+                }
+            }
+            copia.put(endpoint, soma);
+        });
+        return copia;
+    }
+
+    public void limpar() {
+        porEndpoint.clear();
+    }
+
+    /** Troca os segmentos numericos do caminho por {@code {codigo}}. */
+    static String endpoint(String caminho) {
+        StringBuilder endpoint = new StringBuilder(caminho.length());
+        int inicio = 0;
+        while (inicio < caminho.length()) {
+            int fim = caminho.indexOf('/', inicio);
+            if (fim < 0) {
+                fim = caminho.length();
+            }
+            endpoint.append(numerico(caminho, inicio, fim) ? "{codigo}" : caminho.substring(inicio, fim));
+            if (fim < caminho.length()) {
+                endpoint.append('/');
+            }
+            inicio = fim + 1;
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean numerico(String texto, int inicio, int fim) {
+        if (inicio == fim) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (!Character.isDigit(texto.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package ifmt.cba.carga;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de um patamar do {@link GeradorCarga}. A latencia de cada fluxo, e
+ * a da primeira requisicao dele, e medida a partir do instante agendado para a
+ * chegada, entao inclui o tempo que o fluxo esperou para comecar (limite de
+ * voo, agendador atrasado).
+ */
+public class ResumoCarga extends ResumoExecucao {
+
+    private final double taxaOferecida;
+    private final int maxEmAndamento;
+    private final Duration atrasoMaximoAgendamento;
+    private final HistogramaLatencias latencias;
+    private final Map<String, HistogramaLatencias> latenciasPorEndpoint;
+
+    public ResumoCarga(double taxaOferecida, int sucessos, int falhas, Duration duracao, List<Throwable> erros,
+            int maxEmAndamento, Duration atrasoMaximoAgendamento, HistogramaLatencias latencias,
+            Map<String, HistogramaLatencias> latenciasPorEndpoint) {
+        super(sucessos, falhas, duracao, erros);
+        this.taxaOferecida = taxaOferecida;
+        this.maxEmAndamento = maxEmAndamento;
+        this.atrasoMaximoAgendamento = atrasoMaximoAgendamento;
+        this.latencias = latencias;
+        this.latenciasPorEndpoint = latenciasPorEndpoint;
+    }
+
+    /** Chegadas por segundo pedidas ao gerador. */
+    public double getTaxaOferecida() {
+        return taxaOferecida;
+    }
+
+    /** Maior numero de fluxos que ja chegaram e ainda nao terminaram. */
+    public int getMaxEmAndamento() {
+        return maxEmAndamento;
+    }
+
+    /** Maior atraso do agendador em relacao ao instante sorteado para uma chegada. */
+    public Duration getAtrasoMaximoAgendamento() {
+        return atrasoMaximoAgendamento;
+    }
+
+    /** Latencia dos fluxos inteiros, sucessos e falhas. */
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    /**
+     * Latencia dos fluxos (sucessos e falhas) no percentil pedido, de 0 a 100.
+     */
+    public Duration getLatencia(double percentil) {
+        return Duration.ofNanos(latencias.getValorNoPercentil(percentil));
+    }
+
+    /**
+     * Latencia de cada endpoint chamado pelos fluxos, como {@code PUT /pedido/producao};
+     * vazio se o cliente nao foi criado com o {@link RegistroLatencias} do gerador.
+     */
+    public Map<String, HistogramaLatencias> getLatenciasPorEndpoint() {
+        return latenciasPorEndpoint;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("taxa=%.1f/s %s emAndamento=%d atrasoAgendamento=%dms p50=%dms p90=%dms p99=%dms p99.9=%dms max=%dms",
+                taxaOferecida, super.toString(), maxEmAndamento, atrasoMaximoAgendamento.toMillis(),
+                getLatencia(50).toMillis(), getLatencia(90).toMillis(), getLatencia(99).toMillis(),
+                getLatencia(99.9).toMillis(), Duration.ofNanos(latencias.getMaximo()).toMillis());
+    }
+}
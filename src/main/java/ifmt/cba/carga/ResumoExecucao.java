@@ -0,0 +1,47 @@
+package ifmt.cba.carga;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ResumoExecucao {
+
+    private final int sucessos;
+    private final int falhas;
+    private final Duration duracao;
+    private final List<Throwable> erros;
+
+    public ResumoExecucao(int sucessos, int falhas, Duration duracao, List<Throwable> erros) {
+        this.sucessos = sucessos;
+        this.falhas = falhas;
+        this.duracao = duracao;
+        this.erros = erros;
+    }
+
+    public int getSucessos() {
+        return sucessos;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    /** Amostra dos erros encontrados (no maximo {@link ExecutorFluxos#MAX_ERROS_GUARDADOS}). */
+    public List<Throwable> getErros() {
+        return erros;
+    }
+
+    public double getFluxosPorSegundo() {
+        long nanos = Math.max(1, duracao.toNanos());
+        return (sucessos + falhas) * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sucessos=%d falhas=%d duracao=%dms fluxos/s=%.1f",
+                sucessos, falhas, duracao.toMillis(), getFluxosPorSegundo());
+    }
+}
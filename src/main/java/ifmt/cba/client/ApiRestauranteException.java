@@ -0,0 +1,31 @@
+package ifmt.cba.client;
+
+/**
+ * Erro devolvido pela API do restaurante (status diferente de 2xx).
+ * O campo {@code texto} e a mensagem enviada pelo servidor no corpo da resposta.
+ */
+public class ApiRestauranteException extends RuntimeException {
+
+    private final int status;
+    private final String texto;
+
+    public ApiRestauranteException(int status, String texto) {
+        super("HTTP " + status + ": " + texto);
+        this.status = status;
+        this.texto = texto;
+    }
+
+    public ApiRestauranteException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+        this.status = -1;
+        this.texto = mensagem;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+}
@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.BairroDTO;
+
+public class BairroRecurso extends Recurso<BairroDTO> {
+
+    BairroRecurso(TransporteHttp transporte) {
+        super(transporte, "/bairro/", BairroDTO.class, BairroDTO::getCodigo);
+    }
+
+    public List<BairroDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
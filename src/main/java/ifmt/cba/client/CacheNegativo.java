@@ -0,0 +1,74 @@
+package ifmt.cba.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lembra por pouco tempo as consultas por codigo que o servidor respondeu com
+ * 404 ou 400 (codigo inexistente), para que sondagens repetidas do mesmo
+ * codigo sejam respondidas localmente.
+ */
+class CacheNegativo {
+
+    private static final class Ausente {
+
+        final int status;
+        final String texto;
+        final long expiraEm;
+
+        Ausente(int status, String texto, long expiraEm) {
+            this.status = status;
+            this.texto = texto;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    private final int tamanhoMaximo;
+    private final LinkedHashMap<String, Ausente> ausentes;
+    private long acertos;
+
+    CacheNegativo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ausentes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Ausente> maisAntiga) {
+                return size() > CacheNegativo.this.tamanhoMaximo;
+            }
+        };
+    }
+
+    static boolean codigoInexistente(ApiRestauranteException erro) {
+        return erro.getStatus() == 404 || erro.getStatus() == 400;
+    }
+
+    /** Erro a lancar se a chave for sabidamente inexistente; {@code null} caso contrario. */
+    synchronized ApiRestauranteException buscar(String chave) {
+        Ausente ausente = ausentes.get(chave);
+        if (ausente == null) {
+            return null;
+        }
+        if (System.nanoTime() - ausente.expiraEm >= 0) {
+            ausentes.remove(chave);
+            return null;
+        }
+        acertos++;
+        return new ApiRestauranteException(ausente.status, ausente.texto);
+    }
+
+    synchronized void guardar(String chave, ApiRestauranteException erro, long ttlNanos) {
+        ausentes.put(chave, new Ausente(erro.getStatus(), erro.getTexto(), System.nanoTime() + ttlNanos));
+    }
+
+    synchronized void remover(String chave) {
+        ausentes.remove(chave);
+    }
+
+    /** Remove todas as chaves que comecam com {@code prefixo}, como as de um recurso. */
+    synchronized void removerPrefixo(String prefixo) {
+        ausentes.keySet().removeIf(chave -> chave.startsWith(prefixo));
+    }
+
+    synchronized long getAcertos() {
+        return acertos;
+    }
+}
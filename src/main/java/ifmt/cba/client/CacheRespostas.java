@@ -0,0 +1,249 @@
+package ifmt.cba.client;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache limitado de respostas GET, indexado pelo caminho (endpoint + codigo),
+ * com politica W-TinyLFU:
+ * <ul>
+ * <li>uma janela LRU pequena (1% da capacidade) recebe as entradas novas;</li>
+ * <li>o espaco principal e um LRU segmentado: periodo de experiencia (20%) e
+ * protegido (80%), para onde sobem as entradas acessadas de novo;</li>
+ * <li>quando a janela transborda, a entrada que sai so entra no espaco
+ * principal se for mais frequente (segundo o {@link SketchFrequencia}) do que
+ * a vitima do periodo de experiencia.</li>
+ * </ul>
+ * Assim uma varredura de codigos que aparecem uma unica vez nao expulsa os
+ * preparos e produtos consultados o tempo todo.
+ *
+ * Um indice reverso liga cada entidade embutida ({@link EntradaCache#dependencias})
+ * as entradas que a contem, para que {@link #invalidar} remova tambem os pais.
+ * <p>
+ * Cada invalidacao avanca a {@link #versao()}; uma resposta buscada antes da
+ * invalidacao de uma entidade que ela contem pode ter sido gerada antes da
+ * alteracao, e {@link #guardar(String, EntradaCache, long)} a descarta.
+ */
+class CacheRespostas {
+
+    private final int capacidadeJanela;
+    private final int capacidadePrincipal;
+    private final int capacidadeProtegido;
+
+    private final LinkedHashMap<String, EntradaCache> janela = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, EntradaCache> experiencia = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, EntradaCache> protegido = new LinkedHashMap<>(16, 0.75f, true);
+    private final SketchFrequencia sketch;
+    private final Map<String, Set<String>> dependentes = new HashMap<>();
+    /** Versao da ultima invalidacao de cada entidade, limitado a {@code limiteInvalidadas}. */
+    private final Map<String, Long> invalidadasEm = new HashMap<>();
+    private final int limiteInvalidadas;
+    private long versao;
+    /** Respostas buscadas antes desta versao sao descartadas: o historico foi limpo. */
+    private long piso;
+
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+    private long invalidacoes;
+
+    CacheRespostas(int tamanhoMaximo) {
+        if (tamanhoMaximo < 1) {
+            throw new IllegalArgumentException("tamanhoMaximo deve ser >= 1");
+        }
+        this.capacidadeJanela = Math.max(1, tamanhoMaximo / 100);
+        this.capacidadePrincipal = Math.max(0, tamanhoMaximo - capacidadeJanela);
+        this.capacidadeProtegido = capacidadePrincipal * 8 / 10;
+        this.sketch = new SketchFrequencia(tamanhoMaximo);
+        this.limiteInvalidadas = tamanhoMaximo;
+    }
+
+    /** Entrada para a chave, valida ou nao; conta acerto apenas se ainda estiver valida. */
+    synchronized EntradaCache buscar(String chave) {
+        sketch.incrementar(chave);
+        EntradaCache entrada = janela.get(chave);
+        if (entrada == null) {
+            entrada = protegido.get(chave);
+        }
+        if (entrada == null) {
+            entrada = experiencia.remove(chave);
+            if (entrada != null) {
+                promover(chave, entrada);
+            }
+        }
+        if (entrada != null && entrada.valida(System.nanoTime())) {
+            acertos++;
+        } else {
+            falhas++;
+        }
+        return entrada;
+    }
+
+    /** Versao atual, a ser lida antes de enviar a requisicao cuja resposta sera guardada. */
+    synchronized long versao() {
+        return versao;
+    }
+
+    /**
+     * Guarda a resposta buscada com o cache em {@code versao}, a menos que a chave
+     * ou alguma entidade que ela embute tenha sido invalidada desde entao.
+     *
+     * @return se a entrada foi guardada
+     */
+    synchronized boolean guardar(String chave, EntradaCache entrada, long versao) {
+        if (desatualizada(chave, entrada, versao)) {
+            return false;
+        }
+        guardar(chave, entrada);
+        return true;
+    }
+
+    /**
+     * Renova o prazo de {@code anterior} depois de um 304, se ela ainda for a
+     * entrada da chave: removida por uma invalidacao ou substituida durante a
+     * revalidacao, nao volta ao cache.
+     */
+    synchronized boolean renovar(String chave, EntradaCache anterior, EntradaCache renovada, long versao) {
+        LinkedHashMap<String, EntradaCache> segmento = segmentoDe(chave);
+        if (segmento == null || segmento.get(chave) != anterior) {
+            return false;
+        }
+        return guardar(chave, renovada, versao);
+    }
+
+    synchronized void guardar(String chave, EntradaCache entrada) {
+        LinkedHashMap<String, EntradaCache> segmento = segmentoDe(chave);
+        if (segmento != null) {
+            desindexar(chave, segmento.put(chave, entrada));
+            indexar(chave, entrada);
+            return;
+        }
+        janela.put(chave, entrada);
+        indexar(chave, entrada);
+        if (janela.size() > capacidadeJanela) {
+            Map.Entry<String, EntradaCache> candidata = removerMaisAntiga(janela);
+            admitir(candidata.getKey(), candidata.getValue());
+        }
+    }
+
+    synchronized void remover(String chave) {
+        LinkedHashMap<String, EntradaCache> segmento = segmentoDe(chave);
+        if (segmento != null) {
+            desindexar(chave, segmento.remove(chave));
+            invalidacoes++;
+        }
+    }
+
+    /**
+     * Remove a entrada da entidade (caminho de consulta por codigo) e todas as
+     * entradas que a embutem.
+     */
+    synchronized void invalidar(String entidade) {
+        versao++;
+        if (invalidadasEm.size() >= limiteInvalidadas) {
+            invalidadasEm.clear();
+            piso = versao;
+        }
+        invalidadasEm.put(entidade, versao);
+        remover(entidade);
+        Set<String> pais = dependentes.get(entidade);
+        if (pais != null) {
+            for (String pai : List.copyOf(pais)) {
+                remover(pai);
+            }
+        }
+    }
+
+    synchronized int tamanho() {
+        return janela.size() + experiencia.size() + protegido.size();
+    }
+
+    synchronized EstatisticasCache estatisticas() {
+        return new EstatisticasCache(acertos, falhas, remocoes, invalidacoes, tamanho());
+    }
+
+    private boolean desatualizada(String chave, EntradaCache entrada, long versao) {
+        if (versao < piso || invalidadaDepois(chave, versao)) {
+            return true;
+        }
+        for (String entidade : entrada.dependencias) {
+            if (invalidadaDepois(entidade, versao)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean invalidadaDepois(String entidade, long versao) {
+        Long invalidadaEm = invalidadasEm.get(entidade);
+        return invalidadaEm != null && invalidadaEm > versao;
+    }
+
+    private void promover(String chave, EntradaCache entrada) {
+        protegido.put(chave, entrada);
+        if (protegido.size() > capacidadeProtegido) {
+            Map.Entry<String, EntradaCache> rebaixada = removerMaisAntiga(protegido);
+            experiencia.put(rebaixada.getKey(), rebaixada.getValue());
+        }
+    }
+
+    private void admitir(String chave, EntradaCache entrada) {
+        if (experiencia.size() + protegido.size() < capacidadePrincipal) {
+            experiencia.put(chave, entrada);
+            return;
+        }
+        remocoes++;
+        LinkedHashMap<String, EntradaCache> segmentoVitima = experiencia.isEmpty() ? protegido : experiencia;
+        if (segmentoVitima.isEmpty()) {
+            desindexar(chave, entrada);
+            return;
+        }
+        String vitima = segmentoVitima.keySet().iterator().next();
+        if (sketch.frequencia(chave) > sketch.frequencia(vitima)) {
+            desindexar(vitima, segmentoVitima.remove(vitima));
+            experiencia.put(chave, entrada);
+        } else {
+            desindexar(chave, entrada);
+        }
+    }
+
+    private LinkedHashMap<String, EntradaCache> segmentoDe(String chave) {
+        if (janela.containsKey(chave)) {
+            return janela;
+        }
+        if (protegido.containsKey(chave)) {
+            return protegido;
+        }
+        return experiencia.containsKey(chave) ? experiencia : null;
+    }
+
+    private void indexar(String chave, EntradaCache entrada) {
+        for (String entidade : entrada.dependencias) {
+            if (!entidade.equals(chave)) {
+                dependentes.computeIfAbsent(entidade, e -> new HashSet<>()).add(chave);
+            }
+        }
+    }
+
+    private void desindexar(String chave, EntradaCache entrada) {
+        for (String entidade : entrada.dependencias) {
+            Set<String> pais = dependentes.get(entidade);
+            if (pais != null && pais.remove(chave) && pais.isEmpty()) {
+                dependentes.remove(entidade);
+            }
+        }
+    }
+
+    private static Map.Entry<String, EntradaCache> removerMaisAntiga(LinkedHashMap<String, EntradaCache> segmento) {
+        Iterator<Map.Entry<String, EntradaCache>> iterador = segmento.entrySet().iterator();
+        Map.Entry<String, EntradaCache> maisAntiga = iterador.next();
+        Map.Entry<String, EntradaCache> removida = Map.entry(maisAntiga.getKey(), maisAntiga.getValue());
+        iterador.remove();
+        return removida;
+    }
+}
@@ -0,0 +1,14 @@
+package ifmt.cba.client;
+
+import ifmt.cba.dto.CardapioDTO;
+
+public class CardapioRecurso extends Recurso<CardapioDTO> {
+
+    CardapioRecurso(TransporteHttp transporte) {
+        super(transporte, "/cardapio/", CardapioDTO.class, CardapioDTO::getCodigo);
+    }
+
+    public CardapioDTO porNome(String nome) {
+        return transporte.get(caminho + "nome/" + codificar(nome), tipo);
+    }
+}
@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.ClienteDTO;
+
+public class ClienteRecurso extends Recurso<ClienteDTO> {
+
+    ClienteRecurso(TransporteHttp transporte) {
+        super(transporte, "/cliente/", ClienteDTO.class, ClienteDTO::getCodigo);
+    }
+
+    public List<ClienteDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
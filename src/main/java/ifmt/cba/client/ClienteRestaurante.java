@@ -0,0 +1,132 @@
+package ifmt.cba.client;
+
+import java.net.http.HttpClient;
+
+import ifmt.cba.utils.FabricaGson;
+
+/**
+ * Ponto de entrada do cliente tipado da API do restaurante.
+ *
+ * <pre>
+ * ClienteRestaurante api = new ClienteRestaurante("http://localhost:8080");
+ * PedidoDTO pedido = api.pedidos().porCodigo(1);
+ * </pre>
+ *
+ * A instancia e thread-safe e deve ser compartilhada: todas as chamadas usam o
+ * mesmo {@link HttpClient}, reaproveitando as conexoes abertas.
+ */
+public class ClienteRestaurante {
+
+    public static final String URL_PADRAO = "http://localhost:8080";
+
+    private final TransporteHttp transporte;
+
+    private final BairroRecurso bairros;
+    private final CardapioRecurso cardapios;
+    private final ClienteRecurso clientes;
+    private final ColaboradorRecurso colaboradores;
+    private final EntregadorRecurso entregadores;
+    private final EstoqueRecurso estoque;
+    private final GrupoAlimentarRecurso gruposAlimentares;
+    private final OrdemProducaoRecurso ordensProducao;
+    private final PedidoRecurso pedidos;
+    private final PreparoProdutoRecurso preparos;
+    private final ProdutoRecurso produtos;
+    private final TipoPreparoRecurso tiposPreparo;
+
+    public ClienteRestaurante() {
+        this(URL_PADRAO);
+    }
+
+    public ClienteRestaurante(String urlBase) {
+        this(urlBase, new ConfiguracaoCliente());
+    }
+
+    public ClienteRestaurante(String urlBase, ConfiguracaoCliente configuracao) {
+        this(urlBase, HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(configuracao.getTimeoutConexao())
+                .build(), configuracao);
+    }
+
+    public ClienteRestaurante(String urlBase, HttpClient http, ConfiguracaoCliente configuracao) {
+        this.transporte = new TransporteHttp(http, urlBase,
+                configuracao.isDeduplicarEntidades() ? FabricaGson.getGsonDeduplicado() : FabricaGson.getGson(),
+                configuracao);
+
+        this.bairros = new BairroRecurso(transporte);
+        this.cardapios = new CardapioRecurso(transporte);
+        this.clientes = new ClienteRecurso(transporte);
+        this.colaboradores = new ColaboradorRecurso(transporte);
+        this.entregadores = new EntregadorRecurso(transporte);
+        this.estoque = new EstoqueRecurso(transporte);
+        this.gruposAlimentares = new GrupoAlimentarRecurso(transporte);
+        this.ordensProducao = new OrdemProducaoRecurso(transporte);
+        this.pedidos = new PedidoRecurso(transporte);
+        this.preparos = new PreparoProdutoRecurso(transporte);
+        this.produtos = new ProdutoRecurso(transporte);
+        this.tiposPreparo = new TipoPreparoRecurso(transporte);
+    }
+
+    /** Quantos GETs foram atendidos por uma requisicao identica ja em andamento. */
+    public long getRequisicoesColapsadas() {
+        return transporte.getRequisicoesColapsadas();
+    }
+
+    public EstatisticasCache getEstatisticasCache() {
+        return transporte.estatisticasCache();
+    }
+
+    /** Consultas por codigo respondidas localmente como inexistentes. */
+    public long getAcertosCacheNegativo() {
+        return transporte.acertosCacheNegativo();
+    }
+
+    public BairroRecurso bairros() {
+        return bairros;
+    }
+
+    public CardapioRecurso cardapios() {
+        return cardapios;
+    }
+
+    public ClienteRecurso clientes() {
+        return clientes;
+    }
+
+    public ColaboradorRecurso colaboradores() {
+        return colaboradores;
+    }
+
+    public EntregadorRecurso entregadores() {
+        return entregadores;
+    }
+
+    public EstoqueRecurso estoque() {
+        return estoque;
+    }
+
+    public GrupoAlimentarRecurso gruposAlimentares() {
+        return gruposAlimentares;
+    }
+
+    public OrdemProducaoRecurso ordensProducao() {
+        return ordensProducao;
+    }
+
+    public PedidoRecurso pedidos() {
+        return pedidos;
+    }
+
+    public PreparoProdutoRecurso preparos() {
+        return preparos;
+    }
+
+    public ProdutoRecurso produtos() {
+        return produtos;
+    }
+
+    public TipoPreparoRecurso tiposPreparo() {
+        return tiposPreparo;
+    }
+}
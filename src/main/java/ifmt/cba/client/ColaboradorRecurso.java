@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.ColaboradorDTO;
+
+public class ColaboradorRecurso extends Recurso<ColaboradorDTO> {
+
+    ColaboradorRecurso(TransporteHttp transporte) {
+        super(transporte, "/colaborador/", ColaboradorDTO.class, ColaboradorDTO::getCodigo);
+    }
+
+    public List<ColaboradorDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
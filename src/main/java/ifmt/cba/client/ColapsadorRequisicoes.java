@@ -0,0 +1,89 @@
+package ifmt.cba.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight: enquanto uma requisicao para uma chave estiver em andamento,
+ * os demais chamadores com a mesma chave esperam por ela em vez de repeti-la.
+ * Guarda apenas o corpo da resposta; cada chamador decodifica a sua propria
+ * copia do DTO, entao alteracoes feitas por um fluxo nao vazam para os outros.
+ */
+class ColapsadorRequisicoes {
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> emVoo = new ConcurrentHashMap<>();
+    private final LongAdder colapsadas = new LongAdder();
+
+    String executar(String chave, Supplier<String> requisicao) {
+        CompletableFuture<String> novo = new CompletableFuture<>();
+        CompletableFuture<String> existente = emVoo.putIfAbsent(chave, novo);
+        if (existente != null) {
+            colapsadas.increment();
+            return aguardar(existente);
+        }
+        try {
+            String corpo = requisicao.get();
+            novo.complete(corpo);
+            return corpo;
+        } catch (Throwable e) {
+            // inclusive Error: os chamadores colapsados esperariam para sempre
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            emVoo.remove(chave, novo);
+        }
+    }
+
+    CompletableFuture<String> executarAsync(String chave, Supplier<CompletableFuture<String>> requisicao) {
+        CompletableFuture<String> novo = new CompletableFuture<>();
+        CompletableFuture<String> existente = emVoo.putIfAbsent(chave, novo);
+        if (existente != null) {
+            colapsadas.increment();
+            return existente.copy();
+        }
+        CompletableFuture<String> resposta;
+        try {
+            resposta = requisicao.get();
+        } catch (Throwable e) {
+            // falha antes do envio (URI invalida): sem isso a chave ficaria presa em emVoo
+            emVoo.remove(chave, novo);
+            novo.completeExceptionally(e);
+            if (e instanceof Error erro) {
+                throw erro;
+            }
+            return novo.copy();
+        }
+        resposta.whenComplete((corpo, erro) -> {
+            emVoo.remove(chave, novo);
+            if (erro != null) {
+                novo.completeExceptionally(erro instanceof CompletionException && erro.getCause() != null
+                        ? erro.getCause()
+                        : erro);
+            } else {
+                novo.complete(corpo);
+            }
+        });
+        return novo.copy();
+    }
+
+    long getColapsadas() {
+        return colapsadas.sum();
+    }
+
+    private static String aguardar(CompletableFuture<String> emAndamento) {
+        try {
+            return emAndamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ifmt.cba.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opcoes do {@link ClienteRestaurante}. Os valores padrao reproduzem o
+ * comportamento dos testes: cada chamada vai ao servidor.
+ */
+public class ConfiguracaoCliente {
+
+    private Duration timeoutConexao = Duration.ofSeconds(5);
+    private Duration timeoutRequisicao = Duration.ofSeconds(30);
+    private boolean colapsarRequisicoes;
+    private boolean deduplicarEntidades;
+    private final Map<Class<?>, Duration> ttlCache = new HashMap<>();
+    private final Map<Class<?>, Duration> ttlNegativo = new HashMap<>();
+    private int tamanhoMaximoCache = 10_000;
+    private double renovacaoAntecipada;
+    private ObservadorRequisicoes observador;
+
+    public Duration getTimeoutConexao() {
+        return timeoutConexao;
+    }
+
+    public void setTimeoutConexao(Duration timeoutConexao) {
+        this.timeoutConexao = timeoutConexao;
+    }
+
+    public Duration getTimeoutRequisicao() {
+        return timeoutRequisicao;
+    }
+
+    public void setTimeoutRequisicao(Duration timeoutRequisicao) {
+        this.timeoutRequisicao = timeoutRequisicao;
+    }
+
+    public boolean isColapsarRequisicoes() {
+        return colapsarRequisicoes;
+    }
+
+    /**
+     * Quando ligado, GETs identicos que estejam em andamento ao mesmo tempo viram
+     * uma unica requisicao; todos os chamadores recebem a mesma resposta. Um GET
+     * iniciado antes de uma alteracao concluida pode entao devolver o valor antigo.
+     */
+    public void setColapsarRequisicoes(boolean colapsarRequisicoes) {
+        this.colapsarRequisicoes = colapsarRequisicoes;
+    }
+
+    public boolean isDeduplicarEntidades() {
+        return deduplicarEntidades;
+    }
+
+    /**
+     * Entidades repetidas numa mesma resposta (o cliente de cada pedido de uma
+     * lista, os preparos dos itens) passam a ser uma unica instancia, o que reduz
+     * bastante a memoria de listas grandes. As instancias sao compartilhadas:
+     * alterar o cliente de um pedido altera o de todos os pedidos da resposta.
+     * Nos fluxos ({@code fluxoPor...}) a unificacao vale dentro de cada elemento.
+     */
+    public void setDeduplicarEntidades(boolean deduplicarEntidades) {
+        this.deduplicarEntidades = deduplicarEntidades;
+    }
+
+    public Duration getTtlCache(Class<?> tipo) {
+        return ttlCache.get(tipo);
+    }
+
+    /**
+     * Liga o cache de consultas por codigo para o tipo informado. Indicado para
+     * dados de referencia que mudam pouco (BairroDTO, GrupoAlimentarDTO,
+     * TipoPreparoDTO, CardapioDTO) e para o catalogo consultado ao montar itens
+     * (PreparoProdutoDTO, ProdutoDTO). Alteracoes e exclusoes feitas por este
+     * cliente removem a entrada correspondente. Vencido o TTL, a entrada e revalidada com
+     * If-None-Match / If-Modified-Since quando o servidor enviou ETag ou
+     * Last-Modified; caso contrario e buscada de novo.
+     */
+    public void setTtlCache(Class<?> tipo, Duration ttl) {
+        if (ttl == null) {
+            ttlCache.remove(tipo);
+        } else {
+            ttlCache.put(tipo, ttl);
+        }
+    }
+
+    public Duration getTtlNegativo(Class<?> tipo) {
+        return ttlNegativo.get(tipo);
+    }
+
+    /**
+     * Lembra por {@code ttl} os codigos do tipo que o servidor respondeu como
+     * inexistentes (404 ou 400) e repete o erro sem ir a rede. Use TTLs curtos:
+     * uma inclusao feita por outro cliente so aparece depois que o TTL vence.
+     * Inclusoes feitas por este cliente limpam a entrada na hora.
+     */
+    public void setTtlNegativo(Class<?> tipo, Duration ttl) {
+        if (ttl == null) {
+            ttlNegativo.remove(tipo);
+        } else {
+            ttlNegativo.put(tipo, ttl);
+        }
+    }
+
+    public boolean isCacheNegativoLigado() {
+        return !ttlNegativo.isEmpty();
+    }
+
+    public boolean isCacheLigado() {
+        return !ttlCache.isEmpty();
+    }
+
+    public int getTamanhoMaximoCache() {
+        return tamanhoMaximoCache;
+    }
+
+    /**
+     * Numero maximo de respostas em cache, somando todos os tipos (politica
+     * W-TinyLFU). O cache negativo usa o mesmo limite, separadamente.
+     */
+    public void setTamanhoMaximoCache(int tamanhoMaximoCache) {
+        this.tamanhoMaximoCache = tamanhoMaximoCache;
+    }
+
+    public double getRenovacaoAntecipada() {
+        return renovacaoAntecipada;
+    }
+
+    /**
+     * Fracao do TTL (entre 0 e 1, exclusive) a partir da qual uma entrada em
+     * cache e recarregada em segundo plano enquanto continua sendo servida; com
+     * 0.8 e TTL de 10 minutos, a primeira leitura depois de 8 minutos dispara a
+     * recarga. Ligar a renovacao tambem faz com que, vencido o TTL, so um
+     * chamador por chave va ao servidor; os demais recebem a copia vencida ate
+     * a recarga terminar. O padrao, 0, desliga as duas coisas.
+     */
+    public void setRenovacaoAntecipada(double renovacaoAntecipada) {
+        if (renovacaoAntecipada < 0 || renovacaoAntecipada >= 1) {
+            throw new IllegalArgumentException("Fracao de renovacao deve estar em [0, 1): " + renovacaoAntecipada);
+        }
+        this.renovacaoAntecipada = renovacaoAntecipada;
+    }
+
+    public ObservadorRequisicoes getObservador() {
+        return observador;
+    }
+
+    /**
+     * Registra o tempo de cada requisicao enviada ao servidor, para medir a
+     * latencia por endpoint durante testes de carga. {@code null} desliga.
+     */
+    public void setObservador(ObservadorRequisicoes observador) {
+        this.observador = observador;
+    }
+}
@@ -0,0 +1,101 @@
+package ifmt.cba.client;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.dto.CardapioDTO;
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.ColaboradorDTO;
+import ifmt.cba.dto.EntregadorDTO;
+import ifmt.cba.dto.GrupoAlimentarDTO;
+import ifmt.cba.dto.ItemOrdemProducaoDTO;
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.OrdemProducaoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+import ifmt.cba.dto.RegistroEstoqueDTO;
+import ifmt.cba.dto.TipoPreparoDTO;
+
+/**
+ * Levanta todas as entidades embutidas em um DTO, como caminhos de consulta
+ * por codigo ({@code /produto/codigo/5}). Um CardapioDTO depende dos seus
+ * preparos e, atraves deles, dos produtos, tipos de preparo e grupos
+ * alimentares: alterar qualquer um deles invalida o cardapio em cache.
+ */
+final class Dependencias {
+
+    private final Set<String> caminhos = new HashSet<>();
+
+    private Dependencias() {
+    }
+
+    static String caminho(String recurso, int codigo) {
+        return "/" + recurso + "/codigo/" + codigo;
+    }
+
+    static Set<String> de(Object dto) {
+        Dependencias dependencias = new Dependencias();
+        dependencias.visitar(dto);
+        return dependencias.caminhos;
+    }
+
+    private void visitar(Object dto) {
+        if (dto instanceof PedidoDTO pedido) {
+            adicionar("pedido", pedido.getCodigo());
+            visitar(pedido.getCliente());
+            visitar(pedido.getEntregador());
+            visitarTodos(pedido.getListaItens());
+        } else if (dto instanceof OrdemProducaoDTO ordem) {
+            adicionar("ordemproducao", ordem.getCodigo());
+            visitar(ordem.getCardapio());
+            visitarTodos(ordem.getListaItens());
+        } else if (dto instanceof ItemPedidoDTO item) {
+            visitar(item.getPreparoProduto());
+        } else if (dto instanceof ItemOrdemProducaoDTO item) {
+            visitar(item.getPreparoProduto());
+        } else if (dto instanceof CardapioDTO cardapio) {
+            adicionar("cardapio", cardapio.getCodigo());
+            visitarTodos(cardapio.getListaPreparoProduto());
+        } else if (dto instanceof PreparoProdutoDTO preparo) {
+            adicionar("preparo", preparo.getCodigo());
+            visitar(preparo.getProduto());
+            visitar(preparo.getTipoPreparo());
+        } else if (dto instanceof ProdutoDTO produto) {
+            adicionar("produto", produto.getCodigo());
+            visitar(produto.getGrupoAlimentar());
+        } else if (dto instanceof RegistroEstoqueDTO registro) {
+            adicionar("estoque", registro.getCodigo());
+            visitar(registro.getProduto());
+        } else if (dto instanceof ClienteDTO cliente) {
+            adicionar("cliente", cliente.getCodigo());
+            visitar(cliente.getBairro());
+        } else if (dto instanceof BairroDTO bairro) {
+            adicionar("bairro", bairro.getCodigo());
+        } else if (dto instanceof GrupoAlimentarDTO grupo) {
+            adicionar("grupoalimentar", grupo.getCodigo());
+        } else if (dto instanceof TipoPreparoDTO tipoPreparo) {
+            adicionar("tipopreparo", tipoPreparo.getCodigo());
+        } else if (dto instanceof EntregadorDTO entregador) {
+            adicionar("entregador", entregador.getCodigo());
+        } else if (dto instanceof ColaboradorDTO colaborador) {
+            adicionar("colaborador", colaborador.getCodigo());
+        }
+    }
+
+    private void visitarTodos(List<?> dtos) {
+        if (dtos != null) {
+            for (Object dto : dtos) {
+                visitar(dto);
+            }
+        }
+    }
+
+    private void adicionar(String recurso, int codigo) {
+        if (codigo > 0) {
+            caminhos.add(caminho(recurso, codigo));
+        }
+    }
+}
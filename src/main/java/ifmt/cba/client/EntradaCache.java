@@ -0,0 +1,46 @@
+package ifmt.cba.client;
+
+import java.util.Set;
+
+/**
+ * Resposta guardada no cache: o corpo JSON, os validadores que o servidor
+ * enviou (usados para revalidar a entrada depois que o TTL vence) e as
+ * entidades embutidas no corpo, cuja alteracao invalida a entrada. A partir de
+ * {@code renovarEm} a entrada ainda e servida, mas ja deve ser recarregada em
+ * segundo plano.
+ */
+final class EntradaCache {
+
+    final String corpo;
+    final String etag;
+    final String ultimaModificacao;
+    final long renovarEm;
+    final long expiraEm;
+    final Set<String> dependencias;
+
+    EntradaCache(String corpo, String etag, String ultimaModificacao, long expiraEm) {
+        this(corpo, etag, ultimaModificacao, expiraEm, expiraEm, Set.of());
+    }
+
+    EntradaCache(String corpo, String etag, String ultimaModificacao, long renovarEm, long expiraEm,
+            Set<String> dependencias) {
+        this.corpo = corpo;
+        this.etag = etag;
+        this.ultimaModificacao = ultimaModificacao;
+        this.renovarEm = renovarEm;
+        this.expiraEm = expiraEm;
+        this.dependencias = dependencias;
+    }
+
+    boolean valida(long agora) {
+        return agora - expiraEm < 0;
+    }
+
+    boolean renovar(long agora) {
+        return agora - renovarEm >= 0;
+    }
+
+    EntradaCache renovada(long renovarEm, long expiraEm) {
+        return new EntradaCache(corpo, etag, ultimaModificacao, renovarEm, expiraEm, dependencias);
+    }
+}
@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.EntregadorDTO;
+
+public class EntregadorRecurso extends Recurso<EntregadorDTO> {
+
+    EntregadorRecurso(TransporteHttp transporte) {
+        super(transporte, "/entregador/", EntregadorDTO.class, EntregadorDTO::getCodigo);
+    }
+
+    public List<EntregadorDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
@@ -0,0 +1,53 @@
+package ifmt.cba.client;
+
+/** Fotografia dos contadores do cache de respostas. */
+public class EstatisticasCache {
+
+    private final long acertos;
+    private final long falhas;
+    private final long remocoes;
+    private final long invalidacoes;
+    private final int tamanho;
+
+    EstatisticasCache(long acertos, long falhas, long remocoes, long invalidacoes, int tamanho) {
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.invalidacoes = invalidacoes;
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    /** Consultas que nao encontraram entrada, inclusive as que acharam entrada vencida. */
+    public long getFalhas() {
+        return falhas;
+    }
+
+    /** Entradas descartadas (ou recusadas na admissao) por falta de espaco. */
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    /** Entradas removidas explicitamente por alteracao ou exclusao. */
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("acertos=%d falhas=%d taxaAcerto=%.3f remocoes=%d invalidacoes=%d tamanho=%d",
+                acertos, falhas, getTaxaAcerto(), remocoes, invalidacoes, tamanho);
+    }
+}
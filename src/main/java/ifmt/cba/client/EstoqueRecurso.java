@@ -0,0 +1,44 @@
+package ifmt.cba.client;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import ifmt.cba.dto.MovimentoEstoqueDTO;
+import ifmt.cba.dto.RegistroEstoqueDTO;
+
+public class EstoqueRecurso extends Recurso<RegistroEstoqueDTO> {
+
+    EstoqueRecurso(TransporteHttp transporte) {
+        super(transporte, "/estoque/", RegistroEstoqueDTO.class, RegistroEstoqueDTO::getCodigo);
+    }
+
+    public List<RegistroEstoqueDTO> porMovimento(MovimentoEstoqueDTO movimento) {
+        return lista("movimento?movimento=" + movimento.name());
+    }
+
+    /** Todo registro de estoque muda o ProdutoDTO.estoque do produto movimentado. */
+    @Override
+    protected void aposInclusao(RegistroEstoqueDTO registro) {
+        if (registro.getProduto() != null) {
+            transporte.invalidar(Dependencias.caminho("produto", registro.getProduto().getCodigo()));
+        }
+    }
+
+    @Override
+    protected boolean precisaAposInclusao() {
+        return true;
+    }
+
+    public Flow.Publisher<RegistroEstoqueDTO> fluxoPorMovimento(MovimentoEstoqueDTO movimento) {
+        return fluxo("movimento?movimento=" + movimento.name());
+    }
+
+    public List<RegistroEstoqueDTO> descartados(LocalDate dataInicial, LocalDate dataFinal) {
+        return lista("descartados" + periodo(dataInicial, dataFinal));
+    }
+
+    public List<RegistroEstoqueDTO> porProduto(int codigoProduto) {
+        return lista("produto/" + codigoProduto);
+    }
+}
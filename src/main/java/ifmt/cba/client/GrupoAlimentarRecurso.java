@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.GrupoAlimentarDTO;
+
+public class GrupoAlimentarRecurso extends Recurso<GrupoAlimentarDTO> {
+
+    GrupoAlimentarRecurso(TransporteHttp transporte) {
+        super(transporte, "/grupoalimentar/", GrupoAlimentarDTO.class, GrupoAlimentarDTO::getCodigo);
+    }
+
+    public List<GrupoAlimentarDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
@@ -0,0 +1,381 @@
+package ifmt.cba.client;
+
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Corpo de requisicao pre-serializado: o JSON de um prototipo e codificado uma
+ * unica vez e apenas os valores escalares marcados como vagas (por caminho, no
+ * formato de {@link com.google.gson.stream.JsonReader#getPath()}, como
+ * {@code $.listaItens[0].quantidadePorcao}) mudam a cada envio.
+ * <p>
+ * O modelo e imutavel e pode ser compartilhado entre threads; cada thread (ou
+ * fluxo) preenche o seu proprio {@link Corpo}, que reaproveita o buffer.
+ */
+public final class ModeloCorpo {
+
+    private static final byte LITERAL = 0;
+    private static final byte NUMERO = 1;
+    private static final byte TEXTO = 2;
+
+    /** Trechos fixos: trechos[i] vem antes da i-esima vaga em ordem de posicao. */
+    private final byte[][] trechos;
+    /** Valor original de cada vaga, em ordem de declaracao. */
+    private final byte[][] originais;
+    /** Indice (de declaracao) da vaga em cada posicao. */
+    private final int[] ordem;
+    /** Tipo JSON do valor original de cada vaga: numero, texto ou literal. */
+    private final byte[] formatos;
+    private final String[] caminhos;
+
+    private ModeloCorpo(byte[][] trechos, byte[][] originais, int[] ordem, byte[] formatos, String[] caminhos) {
+        this.trechos = trechos;
+        this.originais = originais;
+        this.ordem = ordem;
+        this.formatos = formatos;
+        this.caminhos = caminhos;
+    }
+
+    /**
+     * @param json  JSON completo do prototipo, como sai do Gson
+     * @param vagas caminhos dos valores variaveis; o indice de cada um e o usado
+     *              nos metodos de {@link Corpo}
+     * @throws IllegalArgumentException se algum caminho se repetir, nao existir
+     *                                  no JSON ou nao apontar para um valor escalar
+     */
+    public static ModeloCorpo compilar(String json, String... vagas) {
+        Set<String> distintas = new HashSet<>();
+        for (String vaga : vagas) {
+            if (!distintas.add(vaga)) {
+                throw new IllegalArgumentException("Vaga repetida: " + vaga);
+            }
+        }
+        int[][] posicoes = new Localizador(json, vagas).localizar();
+
+        Integer[] porPosicao = new Integer[vagas.length];
+        for (int i = 0; i < vagas.length; i++) {
+            if (posicoes[i] == null) {
+                throw new IllegalArgumentException("Vaga inexistente ou nao escalar: " + vagas[i]);
+            }
+            porPosicao[i] = i;
+        }
+        Arrays.sort(porPosicao, (a, b) -> Integer.compare(posicoes[a][0], posicoes[b][0]));
+
+        byte[][] trechos = new byte[vagas.length + 1][];
+        byte[][] originais = new byte[vagas.length][];
+        byte[] formatos = new byte[vagas.length];
+        int[] ordem = new int[vagas.length];
+        int fim = 0;
+        for (int p = 0; p < vagas.length; p++) {
+            int vaga = porPosicao[p];
+            trechos[p] = bytes(json.substring(fim, posicoes[vaga][0]));
+            originais[vaga] = bytes(json.substring(posicoes[vaga][0], posicoes[vaga][1]));
+            formatos[vaga] = formato(originais[vaga][0]);
+            ordem[p] = vaga;
+            fim = posicoes[vaga][1];
+        }
+        trechos[vagas.length] = bytes(json.substring(fim));
+        return new ModeloCorpo(trechos, originais, ordem, formatos, vagas.clone());
+    }
+
+    public int getVagas() {
+        return originais.length;
+    }
+
+    public Corpo novoCorpo() {
+        return new Corpo();
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte formato(byte inicio) {
+        if (inicio == '"') {
+            return TEXTO;
+        }
+        return inicio == '-' || (inicio >= '0' && inicio <= '9') ? NUMERO : LITERAL;
+    }
+
+    private void exigir(int vaga, byte formato) {
+        if (formatos[vaga] != formato) {
+            throw new IllegalArgumentException("Vaga " + caminhos[vaga] + " nao e "
+                    + (formato == NUMERO ? "numerica" : "texto") + " no prototipo");
+        }
+    }
+
+    /**
+     * Valores de um envio e o buffer onde o JSON e montado. Nao e thread-safe; as
+     * vagas nao preenchidas mantem o valor do prototipo. {@link #inteiro} so
+     * aceita vagas numericas no prototipo, e {@link #data} e {@link #hora} so
+     * vagas de texto; as demais lancam {@link IllegalArgumentException}.
+     */
+    public final class Corpo {
+
+        private static final byte ORIGINAL = 0;
+        private static final byte INTEIRO = 1;
+        private static final byte DATA = 2;
+        private static final byte HORA = 3;
+
+        private final byte[] tipos = new byte[originais.length];
+        private final long[] numeros = new long[originais.length];
+        private final Object[] objetos = new Object[originais.length];
+        private byte[] buffer = new byte[tamanhoFixo() + 32 * originais.length];
+        private int tamanho;
+
+        private Corpo() {
+        }
+
+        public Corpo inteiro(int vaga, int valor) {
+            exigir(vaga, NUMERO);
+            tipos[vaga] = INTEIRO;
+            numeros[vaga] = valor;
+            objetos[vaga] = null;
+            return this;
+        }
+
+        /** Escrita como yyyy-MM-dd, igual ao {@link ifmt.cba.utils.LocalDateAdapter}. */
+        public Corpo data(int vaga, LocalDate valor) {
+            exigir(vaga, TEXTO);
+            if (valor.getYear() < 0 || valor.getYear() > 9999) {
+                throw new IllegalArgumentException("Ano fora de 0000-9999: " + valor);
+            }
+            tipos[vaga] = DATA;
+            objetos[vaga] = valor;
+            return this;
+        }
+
+        /** Escrita como HH:mm:ss.SSS, igual ao {@link ifmt.cba.utils.LocalTimeAdapter}. */
+        public Corpo hora(int vaga, LocalTime valor) {
+            exigir(vaga, TEXTO);
+            tipos[vaga] = HORA;
+            objetos[vaga] = valor;
+            return this;
+        }
+
+        public Corpo original(int vaga) {
+            tipos[vaga] = ORIGINAL;
+            objetos[vaga] = null;
+            return this;
+        }
+
+        /**
+         * Monta o JSON no buffer e o publica sem copia. O buffer e reaproveitado no
+         * proximo preenchimento, entao o corpo so pode ser alterado depois que a
+         * requisicao que o usa terminar.
+         */
+        public HttpRequest.BodyPublisher publicador() {
+            montar();
+            return HttpRequest.BodyPublishers.ofByteArray(buffer, 0, tamanho);
+        }
+
+        /** Copia do JSON montado; para testes e diagnostico. */
+        public byte[] toByteArray() {
+            montar();
+            return Arrays.copyOf(buffer, tamanho);
+        }
+
+        @Override
+        public String toString() {
+            montar();
+            return new String(buffer, 0, tamanho, StandardCharsets.UTF_8);
+        }
+
+        private void montar() {
+            tamanho = 0;
+            for (int p = 0; p < ordem.length; p++) {
+                copiar(trechos[p]);
+                escreverVaga(ordem[p]);
+            }
+            copiar(trechos[ordem.length]);
+        }
+
+        private void escreverVaga(int vaga) {
+            switch (tipos[vaga]) {
+                case INTEIRO -> {
+                    garantir(20);
+                    tamanho = escreverNumero(numeros[vaga], tamanho);
+                }
+                case DATA -> {
+                    LocalDate data = (LocalDate) objetos[vaga];
+                    garantir(12);
+                    buffer[tamanho++] = '"';
+                    digitos(data.getYear(), 4);
+                    buffer[tamanho++] = '-';
+                    digitos(data.getMonthValue(), 2);
+                    buffer[tamanho++] = '-';
+                    digitos(data.getDayOfMonth(), 2);
+                    buffer[tamanho++] = '"';
+                }
+                case HORA -> {
+                    LocalTime hora = (LocalTime) objetos[vaga];
+                    garantir(14);
+                    buffer[tamanho++] = '"';
+                    digitos(hora.getHour(), 2);
+                    buffer[tamanho++] = ':';
+                    digitos(hora.getMinute(), 2);
+                    buffer[tamanho++] = ':';
+                    digitos(hora.getSecond(), 2);
+                    buffer[tamanho++] = '.';
+                    digitos(hora.getNano() / 1_000_000, 3);
+                    buffer[tamanho++] = '"';
+                }
+                default -> copiar(originais[vaga]);
+            }
+        }
+
+        private int escreverNumero(long valor, int posicao) {
+            if (valor < 0) {
+                buffer[posicao++] = '-';
+                valor = -valor;
+            }
+            int inicio = posicao;
+            do {
+                buffer[posicao++] = (byte) ('0' + valor % 10);
+                valor /= 10;
+            } while (valor > 0);
+            for (int i = inicio, j = posicao - 1; i < j; i++, j--) {
+                byte troca = buffer[i];
+                buffer[i] = buffer[j];
+                buffer[j] = troca;
+            }
+            return posicao;
+        }
+
+        private void digitos(int valor, int quantidade) {
+            for (int i = quantidade - 1; i >= 0; i--) {
+                buffer[tamanho + i] = (byte) ('0' + valor % 10);
+                valor /= 10;
+            }
+            tamanho += quantidade;
+        }
+
+        private void copiar(byte[] trecho) {
+            garantir(trecho.length);
+            System.arraycopy(trecho, 0, buffer, tamanho, trecho.length);
+            tamanho += trecho.length;
+        }
+
+        private void garantir(int adicional) {
+            if (tamanho + adicional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, tamanho + adicional));
+            }
+        }
+
+        private int tamanhoFixo() {
+            int soma = 0;
+            for (byte[] trecho : trechos) {
+                soma += trecho.length;
+            }
+            for (byte[] original : originais) {
+                soma += original.length;
+            }
+            return soma;
+        }
+    }
+
+    /**
+     * Percorre o JSON (ja valido, gerado pelo Gson) guardando inicio e fim de cada
+     * valor escalar cujo caminho foi pedido.
+     */
+    private static final class Localizador {
+
+        private final String json;
+        private final List<String> vagas;
+        private final int[][] posicoes;
+        private int pos;
+
+        Localizador(String json, String[] vagas) {
+            this.json = json;
+            this.vagas = new ArrayList<>(List.of(vagas));
+            this.posicoes = new int[vagas.length][];
+        }
+
+        int[][] localizar() {
+            valor("$");
+            return posicoes;
+        }
+
+        private void valor(String caminho) {
+            espacos();
+            char c = json.charAt(pos);
+            if (c == '{') {
+                objeto(caminho);
+            } else if (c == '[') {
+                array(caminho);
+            } else {
+                int inicio = pos;
+                if (c == '"') {
+                    texto();
+                } else {
+                    while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                        pos++;
+                    }
+                }
+                int vaga = vagas.indexOf(caminho);
+                if (vaga >= 0) {
+                    posicoes[vaga] = new int[] {inicio, pos};
+                }
+            }
+        }
+
+        private void objeto(String caminho) {
+            pos++;
+            espacos();
+            if (json.charAt(pos) == '}') {
+                pos++;
+                return;
+            }
+            while (true) {
+                espacos();
+                int inicio = pos;
+                texto();
+                String nome = json.substring(inicio + 1, pos - 1);
+                espacos();
+                pos++; // ':'
+                valor(caminho + "." + nome);
+                espacos();
+                if (json.charAt(pos++) == '}') {
+                    return;
+                }
+            }
+        }
+
+        private void array(String caminho) {
+            pos++;
+            espacos();
+            if (json.charAt(pos) == ']') {
+                pos++;
+                return;
+            }
+            for (int indice = 0;; indice++) {
+                valor(caminho + "[" + indice + "]");
+                espacos();
+                if (json.charAt(pos++) == ']') {
+                    return;
+                }
+            }
+        }
+
+        private void texto() {
+            pos++;
+            while (json.charAt(pos) != '"') {
+                pos += json.charAt(pos) == '\\' ? 2 : 1;
+            }
+            pos++;
+        }
+
+        private void espacos() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
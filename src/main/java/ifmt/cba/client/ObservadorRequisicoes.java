@@ -0,0 +1,19 @@
+package ifmt.cba.client;
+
+/**
+ * Recebe o tempo de cada requisicao que o {@link ClienteRestaurante} envia ao
+ * servidor (respostas servidas pelo cache nao passam por aqui). Chamado na
+ * thread que concluiu a requisicao: a chamadora nas chamadas bloqueantes, uma
+ * thread do HttpClient nas {@code ...Async}. Deve ser rapido e thread-safe.
+ */
+@FunctionalInterface
+public interface ObservadorRequisicoes {
+
+    /**
+     * @param metodo  GET, POST, PUT ou DELETE
+     * @param caminho caminho da URL, sem a query, por exemplo {@code /pedido/producao}
+     * @param inicio  {@link System#nanoTime()} antes do envio
+     * @param fim     {@link System#nanoTime()} com a resposta lida, ou na falha
+     */
+    void requisicao(String metodo, String caminho, long inicio, long fim);
+}
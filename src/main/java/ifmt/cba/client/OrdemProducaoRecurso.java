@@ -0,0 +1,61 @@
+package ifmt.cba.client;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import ifmt.cba.dto.EstadoOrdemProducaoDTO;
+import ifmt.cba.dto.ItemOrdemProducaoDTO;
+import ifmt.cba.dto.OrdemProducaoDTO;
+
+public class OrdemProducaoRecurso extends Recurso<OrdemProducaoDTO> {
+
+    private static final Type TIPO_ITENS = new TypeToken<Map<String, Integer>>() {}.getType();
+
+    OrdemProducaoRecurso(TransporteHttp transporte) {
+        super(transporte, "/ordemproducao/", OrdemProducaoDTO.class, OrdemProducaoDTO::getCodigo);
+    }
+
+    public ItemOrdemProducaoDTO itemPorCodigo(int codigo) {
+        return transporte.get(caminho + "item/codigo/" + codigo, ItemOrdemProducaoDTO.class);
+    }
+
+    public List<OrdemProducaoDTO> porDataProducao(LocalDate dataInicial, LocalDate dataFinal) {
+        return lista("dataproducao" + periodo(dataInicial, dataFinal));
+    }
+
+    public Flow.Publisher<OrdemProducaoDTO> fluxoPorDataProducao(LocalDate dataInicial, LocalDate dataFinal) {
+        return fluxo("dataproducao" + periodo(dataInicial, dataFinal));
+    }
+
+    public List<OrdemProducaoDTO> porEstado(EstadoOrdemProducaoDTO estado) {
+        return lista("estado?estado=" + estado.name());
+    }
+
+    public JsonObject relatorio(LocalDate dataInicial, LocalDate dataFinal) {
+        return transporte.get(caminho + "relatorio" + periodo(dataInicial, dataFinal), JsonObject.class);
+    }
+
+    public Map<String, Integer> itensProduzidos(LocalDate dataInicial, LocalDate dataFinal) {
+        return transporte.get(caminho + "itens" + periodo(dataInicial, dataFinal), TIPO_ITENS);
+    }
+
+    /** O processamento baixa o estoque dos produtos usados, entao eles saem do cache. */
+    public OrdemProducaoDTO processar(OrdemProducaoDTO ordemProducao) {
+        OrdemProducaoDTO processada = transporte.put(caminho + "processar", ordemProducao, tipo);
+        invalidar(ordemProducao.getCodigo());
+        if (ordemProducao.getListaItens() != null) {
+            for (ItemOrdemProducaoDTO item : ordemProducao.getListaItens()) {
+                if (item.getPreparoProduto() != null && item.getPreparoProduto().getProduto() != null) {
+                    transporte.invalidar(Dependencias.caminho("produto", item.getPreparoProduto().getProduto().getCodigo()));
+                }
+            }
+        }
+        return processada;
+    }
+}
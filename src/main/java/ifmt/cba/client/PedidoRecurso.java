@@ -0,0 +1,108 @@
+package ifmt.cba.client;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import ifmt.cba.dto.EntregadorDTO;
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.PedidoDTO;
+
+public class PedidoRecurso extends Recurso<PedidoDTO> {
+
+    PedidoRecurso(TransporteHttp transporte) {
+        super(transporte, "/pedido/", PedidoDTO.class, PedidoDTO::getCodigo);
+    }
+
+    public List<PedidoDTO> porDataProducao(LocalDate dataInicial, LocalDate dataFinal) {
+        return lista("dataproducao" + periodo(dataInicial, dataFinal));
+    }
+
+    public List<PedidoDTO> porEstado(EstadoPedidoDTO estado) {
+        return lista("estado?estado=" + estado.name());
+    }
+
+    public Flow.Publisher<PedidoDTO> fluxoPorDataProducao(LocalDate dataInicial, LocalDate dataFinal) {
+        return fluxo("dataproducao" + periodo(dataInicial, dataFinal));
+    }
+
+    public Flow.Publisher<PedidoDTO> fluxoPorEstado(EstadoPedidoDTO estado) {
+        return fluxo("estado?estado=" + estado.name());
+    }
+
+    public List<PedidoDTO> porEstadoEData(EstadoPedidoDTO estado, LocalDate data) {
+        return lista("estadodata?data=" + data(data) + "&estado=" + estado.name());
+    }
+
+    public List<PedidoDTO> porCliente(int codigoCliente) {
+        return lista("cliente/" + codigoCliente);
+    }
+
+    public String tempoMedioProducao() {
+        return transporte.getTexto(caminho + "tempomedioproducao");
+    }
+
+    public String tempoMedioFinalizacao() {
+        return transporte.getTexto(caminho + "tempomediofinalizacao");
+    }
+
+    public PedidoDTO producao(PedidoDTO pedido) {
+        return transicao("producao", pedido);
+    }
+
+    public PedidoDTO pronto(PedidoDTO pedido) {
+        return transicao("pronto", pedido);
+    }
+
+    public PedidoDTO entrega(PedidoDTO pedido) {
+        return transicao("entrega", pedido);
+    }
+
+    public PedidoDTO concluido(PedidoDTO pedido) {
+        return transicao("concluido", pedido);
+    }
+
+    public CompletableFuture<PedidoDTO> producaoAsync(PedidoDTO pedido) {
+        return transicaoAsync("producao", pedido);
+    }
+
+    public CompletableFuture<PedidoDTO> prontoAsync(PedidoDTO pedido) {
+        return transicaoAsync("pronto", pedido);
+    }
+
+    public CompletableFuture<PedidoDTO> entregaAsync(PedidoDTO pedido) {
+        return transicaoAsync("entrega", pedido);
+    }
+
+    public CompletableFuture<PedidoDTO> concluidoAsync(PedidoDTO pedido) {
+        return transicaoAsync("concluido", pedido);
+    }
+
+    /**
+     * Leva um pedido ja registrado de REGISTRADO ate CONCLUIDO sem bloquear,
+     * atribuindo o entregador informado antes da transicao para ENTREGA.
+     */
+    public CompletableFuture<PedidoDTO> concluirAsync(PedidoDTO registrado, EntregadorDTO entregador) {
+        return producaoAsync(registrado)
+                .thenCompose(this::prontoAsync)
+                .thenCompose(pronto -> {
+                    pronto.setEntregador(entregador);
+                    return entregaAsync(pronto);
+                })
+                .thenCompose(this::concluidoAsync);
+    }
+
+    private PedidoDTO transicao(String estado, PedidoDTO pedido) {
+        PedidoDTO alterado = transporte.put(caminho + estado, pedido, tipo);
+        invalidar(pedido.getCodigo());
+        return alterado;
+    }
+
+    private CompletableFuture<PedidoDTO> transicaoAsync(String estado, PedidoDTO pedido) {
+        return transporte.<PedidoDTO>putAsync(caminho + estado, pedido, tipo).thenApply(alterado -> {
+            invalidar(pedido.getCodigo());
+            return alterado;
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.PreparoProdutoDTO;
+
+public class PreparoProdutoRecurso extends Recurso<PreparoProdutoDTO> {
+
+    PreparoProdutoRecurso(TransporteHttp transporte) {
+        super(transporte, "/preparo/", PreparoProdutoDTO.class, PreparoProdutoDTO::getCodigo);
+    }
+
+    public List<PreparoProdutoDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+
+    public List<PreparoProdutoDTO> porProduto(int codigoProduto) {
+        return lista("produto/" + codigoProduto);
+    }
+}
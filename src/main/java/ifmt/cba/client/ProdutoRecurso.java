@@ -0,0 +1,20 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.ProdutoDTO;
+
+public class ProdutoRecurso extends Recurso<ProdutoDTO> {
+
+    ProdutoRecurso(TransporteHttp transporte) {
+        super(transporte, "/produto/", ProdutoDTO.class, ProdutoDTO::getCodigo);
+    }
+
+    public List<ProdutoDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+
+    public List<ProdutoDTO> estoqueBaixo() {
+        return lista("estoquebaixo");
+    }
+}
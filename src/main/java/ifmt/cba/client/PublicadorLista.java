@@ -0,0 +1,152 @@
+package ifmt.cba.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Publica os elementos de um endpoint que devolve um array JSON conforme sao
+ * lidos da rede, respeitando a demanda do assinante. Apenas os elementos ja
+ * pedidos e ainda nao entregues ficam em memoria, independente do tamanho da
+ * resposta.
+ *
+ * Cada assinatura faz a sua propria requisicao; a leitura bloqueante do stream
+ * acontece em uma virtual thread, nunca na thread que chama {@code request}, e
+ * so enquanto houver demanda.
+ */
+class PublicadorLista<T> implements Flow.Publisher<T> {
+
+    private final TransporteHttp transporte;
+    private final String caminho;
+    private final TypeAdapter<T> adapter;
+
+    @SuppressWarnings("unchecked")
+    PublicadorLista(TransporteHttp transporte, String caminho, Type elemento) {
+        this.transporte = transporte;
+        this.caminho = caminho;
+        Gson gson = transporte.getGson();
+        this.adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elemento));
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> assinante) {
+        assinante.onSubscribe(new Assinatura(assinante));
+    }
+
+    private final class Assinatura implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> assinante;
+        private final AtomicLong demanda = new AtomicLong();
+        private final AtomicInteger pendentes = new AtomicInteger();
+
+        private volatile boolean cancelada;
+        private volatile IllegalArgumentException demandaInvalida;
+        private boolean terminada;
+        private InputStream stream;
+        private JsonReader leitor;
+
+        Assinatura(Flow.Subscriber<? super T> assinante) {
+            this.assinante = assinante;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                demandaInvalida = new IllegalArgumentException("request deve ser positivo (regra 3.9): " + n);
+            } else {
+                demanda.getAndAccumulate(n, (atual, pedido) -> atual + pedido < 0 ? Long.MAX_VALUE : atual + pedido);
+            }
+            agendar();
+        }
+
+        @Override
+        public void cancel() {
+            cancelada = true;
+            agendar();
+        }
+
+        private void agendar() {
+            if (pendentes.getAndIncrement() == 0) {
+                TransporteHttp.VIRTUAL.execute(this::drenar);
+            }
+        }
+
+        /** Apenas uma execucao por vez, garantida pelo contador de pendentes. */
+        private void drenar() {
+            int passes = 1;
+            do {
+                if (!terminada) {
+                    entregar();
+                }
+                passes = pendentes.addAndGet(-passes);
+            } while (passes != 0);
+        }
+
+        private void entregar() {
+            if (demandaInvalida != null) {
+                fechar();
+                if (!cancelada) {
+                    assinante.onError(demandaInvalida);
+                }
+                return;
+            }
+            try {
+                while (!cancelada && demanda.get() > 0) {
+                    if (leitor == null) {
+                        abrir();
+                    }
+                    if (leitor.peek() == JsonToken.END_ARRAY) {
+                        leitor.endArray();
+                        fechar();
+                        assinante.onComplete();
+                        return;
+                    }
+                    T elemento = adapter.read(leitor);
+                    demanda.decrementAndGet();
+                    assinante.onNext(elemento);
+                }
+                // sem demanda nada e lido da rede, nem o fim do array: um peek aqui
+                // bloquearia ate o servidor mandar mais, inclusive depois de um cancel;
+                // o onComplete sai no proximo request
+                if (cancelada) {
+                    fechar();
+                }
+            } catch (IOException | RuntimeException e) {
+                fechar();
+                if (!cancelada) {
+                    assinante.onError(e instanceof IOException
+                            ? new ApiRestauranteException("Falha lendo " + caminho, e)
+                            : e);
+                }
+            }
+        }
+
+        private void abrir() throws IOException {
+            stream = transporte.abrirStream(caminho);
+            leitor = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            leitor.beginArray();
+        }
+
+        private void fechar() {
+            terminada = true;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    // nada a fazer: a assinatura ja terminou
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package ifmt.cba.client;
+
+import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.ToIntFunction;
+
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Operacoes comuns a todos os endpoints de cadastro: consulta por codigo,
+ * inclusao, alteracao e exclusao. As variantes {@code *Async} nao bloqueiam a
+ * thread chamadora e podem ser encadeadas com {@link CompletableFuture#thenCompose}.
+ */
+public abstract class Recurso<T> {
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    protected final TransporteHttp transporte;
+    protected final String caminho;
+    protected final Class<T> tipo;
+    private final ToIntFunction<T> codigo;
+    private final Type tipoLista;
+    private final Duration ttlCache;
+    private final Duration ttlNegativo;
+
+    Recurso(TransporteHttp transporte, String caminho, Class<T> tipo, ToIntFunction<T> codigo) {
+        this.transporte = transporte;
+        this.caminho = caminho;
+        this.tipo = tipo;
+        this.codigo = codigo;
+        this.tipoLista = TypeToken.getParameterized(List.class, tipo).getType();
+        this.ttlCache = transporte.ttlCache(tipo);
+        this.ttlNegativo = transporte.ttlNegativo(tipo);
+    }
+
+    /**
+     * Se o tipo tiver cache ligado ({@link ConfiguracaoCliente#setTtlCache}), a
+     * resposta vem do cache enquanto o TTL nao vencer. Cada chamada devolve uma
+     * instancia nova, que pode ser alterada sem afetar o cache.
+     * <p>
+     * Com {@link ConfiguracaoCliente#setTtlNegativo} um codigo inexistente
+     * volta a lancar o mesmo erro sem ir ao servidor ate o TTL vencer.
+     */
+    public T porCodigo(int codigo) {
+        String chave = caminho + "codigo/" + codigo;
+        if (ttlNegativo == null) {
+            return buscar(chave);
+        }
+        ApiRestauranteException ausente = transporte.ausenteConhecido(chave);
+        if (ausente != null) {
+            throw ausente;
+        }
+        try {
+            return buscar(chave);
+        } catch (ApiRestauranteException e) {
+            transporte.lembrarAusente(chave, e, ttlNegativo);
+            throw e;
+        }
+    }
+
+    private T buscar(String chave) {
+        if (ttlCache != null) {
+            return transporte.getCacheado(chave, tipo, ttlCache);
+        }
+        return transporte.get(chave, tipo);
+    }
+
+    public T incluir(T dto) {
+        T incluido = transporte.post(caminho, dto, tipo);
+        esquecerAusente(incluido);
+        aposInclusao(dto);
+        return incluido;
+    }
+
+    /**
+     * Pre-serializa {@code prototipo} para inclusoes repetidas em que so mudam os
+     * valores nos caminhos {@code vagas} (ver {@link ModeloCorpo}).
+     */
+    public ModeloCorpo modelo(T prototipo, String... vagas) {
+        return ModeloCorpo.compilar(transporte.getGson().toJson(prototipo, tipo), vagas);
+    }
+
+    /**
+     * Como {@link #incluir(Object)}, com o corpo montado a partir de um
+     * {@link #modelo}. Retorna depois de a requisicao terminar, entao o corpo pode
+     * ser preenchido de novo em seguida.
+     */
+    public T incluir(ModeloCorpo.Corpo corpo) {
+        T incluido = transporte.post(caminho, corpo.publicador(), tipo);
+        esquecerAusente(incluido);
+        // o corpo so e decodificado se houver cache e um aposInclusao para usa-lo
+        if (transporte.isCacheLigado() && precisaAposInclusao()) {
+            aposInclusao(transporte.getGson().fromJson(corpo.toString(), tipo));
+        }
+        return incluido;
+    }
+
+    public T alterar(T dto) {
+        T alterado = transporte.put(caminho, dto, tipo);
+        invalidar(codigo.applyAsInt(dto));
+        return alterado;
+    }
+
+    public void excluir(int codigo) {
+        transporte.delete(caminho + codigo);
+        invalidar(codigo);
+    }
+
+    public CompletableFuture<T> porCodigoAsync(int codigo) {
+        String chave = caminho + "codigo/" + codigo;
+        if (ttlNegativo == null) {
+            return buscarAsync(chave);
+        }
+        ApiRestauranteException ausente = transporte.ausenteConhecido(chave);
+        if (ausente != null) {
+            return CompletableFuture.failedFuture(ausente);
+        }
+        return buscarAsync(chave).whenComplete((dto, erro) -> {
+            if (erro != null) {
+                transporte.lembrarAusente(chave, causa(erro), ttlNegativo);
+            }
+        });
+    }
+
+    private CompletableFuture<T> buscarAsync(String chave) {
+        if (ttlCache != null) {
+            EntradaCache entrada = transporte.entradaCache(chave);
+            String imediato = transporte.corpoImediato(chave, entrada, tipo, ttlCache);
+            if (imediato != null) {
+                return CompletableFuture.completedFuture(transporte.getGson().fromJson(imediato, tipo));
+            }
+            // a revalidacao e bloqueante; roda numa virtual thread para nao prender o chamador
+            return CompletableFuture.supplyAsync(
+                    () -> transporte.<T>getCacheado(chave, entrada, tipo, ttlCache),
+                    TransporteHttp.VIRTUAL);
+        }
+        return transporte.getAsync(chave, tipo);
+    }
+
+    private static Throwable causa(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+
+    public CompletableFuture<T> incluirAsync(T dto) {
+        return transporte.<T>postAsync(caminho, dto, tipo).thenApply(incluido -> {
+            esquecerAusente(incluido);
+            aposInclusao(dto);
+            return incluido;
+        });
+    }
+
+    public CompletableFuture<T> alterarAsync(T dto) {
+        return transporte.<T>putAsync(caminho, dto, tipo).thenApply(alterado -> {
+            invalidar(codigo.applyAsInt(dto));
+            return alterado;
+        });
+    }
+
+    /**
+     * Descarta a copia em cache do codigo e de tudo que a embute (um produto
+     * invalida os preparos que o contem, que invalidam os cardapios).
+     */
+    public void invalidar(int codigo) {
+        transporte.invalidar(caminho + "codigo/" + codigo);
+    }
+
+    /**
+     * O codigo recem criado pode ter sido sondado antes como inexistente. Sem corpo
+     * na resposta (201/204) o codigo nao e conhecido, e todos os ausentes do
+     * recurso sao esquecidos.
+     */
+    private void esquecerAusente(T incluido) {
+        if (ttlNegativo == null) {
+            return;
+        }
+        if (incluido != null) {
+            invalidar(codigo.applyAsInt(incluido));
+        } else {
+            transporte.esquecerAusentes(caminho + "codigo/");
+        }
+    }
+
+    /**
+     * Chamado depois de uma inclusao bem sucedida, com o DTO enviado (e nao a
+     * resposta, que pode vir vazia). Uma entidade nova nao esta embutida em nada,
+     * mas alguns endpoints alteram outras entidades como efeito colateral; os
+     * recursos correspondentes sobrescrevem este metodo.
+     */
+    protected void aposInclusao(T enviado) {
+    }
+
+    /**
+     * Verdadeiro nos recursos que sobrescrevem {@link #aposInclusao}; nos demais a
+     * inclusao por {@link ModeloCorpo} nao decodifica o corpo enviado.
+     */
+    protected boolean precisaAposInclusao() {
+        return false;
+    }
+
+    protected List<T> lista(String subcaminho) {
+        return transporte.get(caminho + subcaminho, tipoLista);
+    }
+
+    /** Como {@link #lista}, mas entregando os elementos sob demanda. */
+    protected Flow.Publisher<T> fluxo(String subcaminho) {
+        return new PublicadorLista<>(transporte, caminho + subcaminho, tipo);
+    }
+
+    protected static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    protected static String data(LocalDate data) {
+        return codificar(data.format(FORMATO_DATA));
+    }
+
+    protected static String periodo(LocalDate dataInicial, LocalDate dataFinal) {
+        return "?dataInicial=" + data(dataInicial) + "&dataFinal=" + data(dataFinal);
+    }
+}
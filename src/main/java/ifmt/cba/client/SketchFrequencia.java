@@ -0,0 +1,71 @@
+package ifmt.cba.client;
+
+/**
+ * Count-Min Sketch de 4 linhas com contadores de 4 bits (saturam em 15), usado
+ * pela admissao TinyLFU do {@link CacheRespostas}. Depois de um numero de
+ * incrementos proporcional a capacidade todos os contadores sao divididos por
+ * dois, para que a popularidade antiga perca peso.
+ */
+final class SketchFrequencia {
+
+    private static final int LINHAS = 4;
+    private static final int MAXIMO = 15;
+    private static final long[] SEMENTES = {
+        0x97cb3127L, 0xc2b2ae3dL, 0x27d4eb2fL, 0x165667b1L
+    };
+
+    private final byte[] contadores;
+    private final int mascara;
+    private final int periodoAmostra;
+    private int incrementos;
+
+    SketchFrequencia(int capacidade) {
+        int largura = Integer.highestOneBit(Math.max(16, capacidade - 1) << 1);
+        this.contadores = new byte[largura * LINHAS];
+        this.mascara = largura - 1;
+        this.periodoAmostra = Math.max(10 * capacidade, 160);
+    }
+
+    int frequencia(Object chave) {
+        int hash = espalhar(chave.hashCode());
+        int minimo = MAXIMO;
+        for (int linha = 0; linha < LINHAS; linha++) {
+            minimo = Math.min(minimo, contadores[indice(hash, linha)]);
+        }
+        return minimo;
+    }
+
+    void incrementar(Object chave) {
+        int hash = espalhar(chave.hashCode());
+        boolean incrementou = false;
+        for (int linha = 0; linha < LINHAS; linha++) {
+            int i = indice(hash, linha);
+            if (contadores[i] < MAXIMO) {
+                contadores[i]++;
+                incrementou = true;
+            }
+        }
+        if (incrementou && ++incrementos >= periodoAmostra) {
+            envelhecer();
+        }
+    }
+
+    private void envelhecer() {
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] >>= 1;
+        }
+        incrementos /= 2;
+    }
+
+    private int indice(int hash, int linha) {
+        long h = (hash + SEMENTES[linha]) * SEMENTES[linha];
+        h += h >>> 32;
+        return linha * (mascara + 1) + ((int) h & mascara);
+    }
+
+    private static int espalhar(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,16 @@
+package ifmt.cba.client;
+
+import java.util.List;
+
+import ifmt.cba.dto.TipoPreparoDTO;
+
+public class TipoPreparoRecurso extends Recurso<TipoPreparoDTO> {
+
+    TipoPreparoRecurso(TransporteHttp transporte) {
+        super(transporte, "/tipopreparo/", TipoPreparoDTO.class, TipoPreparoDTO::getCodigo);
+    }
+
+    public List<TipoPreparoDTO> porNome(String nome) {
+        return lista("nome/" + codificar(nome));
+    }
+}
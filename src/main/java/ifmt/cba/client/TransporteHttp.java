@@ -0,0 +1,480 @@
+package ifmt.cba.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import ifmt.cba.utils.EscritorJsonBytes;
+
+/**
+ * Camada HTTP compartilhada por todos os recursos. Um unico {@link HttpClient}
+ * mantem o pool de conexoes keep-alive e negocia HTTP/2 quando o servidor aceita.
+ */
+class TransporteHttp {
+
+    private static final String JSON = "application/json";
+
+    /** Executa trabalho bloqueante (leitura de stream, revalidacao) fora da thread chamadora. */
+    static final Executor VIRTUAL = tarefa -> Thread.ofVirtual().start(tarefa);
+
+    private final HttpClient http;
+    private final String urlBase;
+    private final Gson gson;
+    private final Duration timeout;
+    private final ColapsadorRequisicoes colapsador;
+    private final ConfiguracaoCliente configuracao;
+    private final CacheRespostas cache;
+    private final CacheNegativo cacheNegativo;
+    private final ObservadorRequisicoes observador;
+    /** Chaves com recarga em andamento; no maximo uma por chave. */
+    private final Set<String> renovando = ConcurrentHashMap.newKeySet();
+
+    TransporteHttp(HttpClient http, String urlBase, Gson gson, ConfiguracaoCliente configuracao) {
+        this.http = http;
+        this.urlBase = urlBase.endsWith("/") ? urlBase.substring(0, urlBase.length() - 1) : urlBase;
+        this.gson = gson;
+        this.timeout = configuracao.getTimeoutRequisicao();
+        this.colapsador = configuracao.isColapsarRequisicoes() ? new ColapsadorRequisicoes() : null;
+        this.configuracao = configuracao;
+        this.cache = configuracao.isCacheLigado() ? new CacheRespostas(configuracao.getTamanhoMaximoCache()) : null;
+        this.cacheNegativo = configuracao.isCacheNegativoLigado()
+                ? new CacheNegativo(configuracao.getTamanhoMaximoCache())
+                : null;
+        this.observador = configuracao.getObservador();
+    }
+
+    Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Sem colapsamento, o corpo e decodificado direto do stream da resposta, sem
+     * passar por uma String; com ele, o texto e compartilhado entre os chamadores.
+     */
+    <T> T get(String caminho, Type tipo) {
+        if (colapsador == null) {
+            return decodificar(abrir(requisicao(caminho).GET().build()), tipo);
+        }
+        return decodificar(getTexto(caminho), tipo);
+    }
+
+    String getTexto(String caminho) {
+        if (colapsador == null) {
+            return buscar(caminho);
+        }
+        return colapsador.executar(caminho, () -> buscar(caminho));
+    }
+
+    private String buscar(String caminho) {
+        return enviar(requisicao(caminho).GET().build()).body();
+    }
+
+    boolean isCacheLigado() {
+        return cache != null;
+    }
+
+    /** TTL configurado para o tipo, ou {@code null} quando o tipo nao usa cache. */
+    Duration ttlCache(Class<?> tipo) {
+        return cache == null ? null : configuracao.getTtlCache(tipo);
+    }
+
+    <T> T getCacheado(String caminho, Type tipo, Duration ttl) {
+        return getCacheado(caminho, cache.buscar(caminho), tipo, ttl);
+    }
+
+    /**
+     * DTO da entrada, resolvido como em {@link #resolverCache}. Quem buscou o
+     * corpo no servidor recebe o objeto ja decodificado para as dependencias;
+     * os demais (entrada valida, 304, chamadores colapsados) decodificam a sua
+     * propria copia do texto.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getCacheado(String caminho, EntradaCache entrada, Type tipo, Duration ttl) {
+        Object[] decodificado = new Object[1];
+        String corpo = resolverCache(caminho, entrada, tipo, ttl, decodificado);
+        return decodificado[0] != null ? (T) decodificado[0] : decodificar(corpo, tipo);
+    }
+
+    /** Remove dos caches a entidade e as respostas que a embutem. */
+    void invalidar(String entidade) {
+        if (cache != null) {
+            cache.invalidar(entidade);
+        }
+        if (cacheNegativo != null) {
+            cacheNegativo.remover(entidade);
+        }
+    }
+
+    Duration ttlNegativo(Class<?> tipo) {
+        return cacheNegativo == null ? null : configuracao.getTtlNegativo(tipo);
+    }
+
+    ApiRestauranteException ausenteConhecido(String caminho) {
+        return cacheNegativo.buscar(caminho);
+    }
+
+    /** Esquece os codigos inexistentes lembrados sob {@code prefixo}. */
+    void esquecerAusentes(String prefixo) {
+        cacheNegativo.removerPrefixo(prefixo);
+    }
+
+    void lembrarAusente(String caminho, Throwable erro, Duration ttl) {
+        if (erro instanceof ApiRestauranteException api && CacheNegativo.codigoInexistente(api)) {
+            cacheNegativo.guardar(caminho, api, ttl.toNanos());
+        }
+    }
+
+    long acertosCacheNegativo() {
+        return cacheNegativo == null ? 0 : cacheNegativo.getAcertos();
+    }
+
+    EstatisticasCache estatisticasCache() {
+        return cache == null ? new EstatisticasCache(0, 0, 0, 0, 0) : cache.estatisticas();
+    }
+
+    /** Consulta o cache (contando acerto ou falha) sem ir a rede. */
+    EntradaCache entradaCache(String caminho) {
+        return cache.buscar(caminho);
+    }
+
+    /**
+     * Devolve a entrada se valida; senao busca ou revalida no servidor. Se este
+     * chamador trouxe um corpo novo, o DTO decodificado vai em {@code decodificado[0]}.
+     */
+    private String resolverCache(String caminho, EntradaCache entrada, Type tipo, Duration ttl,
+            Object[] decodificado) {
+        String imediato = corpoImediato(caminho, entrada, tipo, ttl);
+        if (imediato != null) {
+            return imediato;
+        }
+        if (entrada != null && configuracao.getRenovacaoAntecipada() > 0) {
+            if (!renovando.add(caminho)) {
+                return entrada.corpo;
+            }
+            try {
+                return revalidar(caminho, entrada, tipo, ttl, decodificado);
+            } finally {
+                renovando.remove(caminho);
+            }
+        }
+        if (colapsador == null) {
+            return revalidar(caminho, entrada, tipo, ttl, decodificado);
+        }
+        // so o primeiro executa o supplier; os colapsados recebem o texto
+        return colapsador.executar(caminho, () -> revalidar(caminho, entrada, tipo, ttl, decodificado));
+    }
+
+    /**
+     * Corpo que pode ser servido sem esperar a rede, ou {@code null}. Uma entrada
+     * valida perto do fim do TTL dispara a recarga em segundo plano; uma vencida
+     * so e servida enquanto outro chamador a recarrega.
+     */
+    String corpoImediato(String caminho, EntradaCache entrada, Type tipo, Duration ttl) {
+        if (entrada == null) {
+            return null;
+        }
+        long agora = System.nanoTime();
+        boolean antecipar = configuracao.getRenovacaoAntecipada() > 0;
+        if (entrada.valida(agora)) {
+            if (antecipar && entrada.renovar(agora)) {
+                renovarEmSegundoPlano(caminho, entrada, tipo, ttl);
+            }
+            return entrada.corpo;
+        }
+        return antecipar && renovando.contains(caminho) ? entrada.corpo : null;
+    }
+
+    private void renovarEmSegundoPlano(String caminho, EntradaCache entrada, Type tipo, Duration ttl) {
+        if (!renovando.add(caminho)) {
+            return;
+        }
+        VIRTUAL.execute(() -> {
+            try {
+                revalidar(caminho, entrada, tipo, ttl, null);
+            } catch (ApiRestauranteException e) {
+                // a entrada segue valida ate expirar; a proxima leitura tenta de novo
+            } finally {
+                renovando.remove(caminho);
+            }
+        });
+    }
+
+    private String revalidar(String caminho, EntradaCache anterior, Type tipo, Duration ttl,
+            Object[] decodificado) {
+        // lida antes do envio: uma invalidacao durante a requisicao descarta a resposta
+        long versao = cache.versao();
+        HttpRequest.Builder requisicao = requisicao(caminho).GET();
+        boolean condicional = false;
+        if (anterior != null && anterior.etag != null) {
+            requisicao.header("If-None-Match", anterior.etag);
+            condicional = true;
+        }
+        if (anterior != null && anterior.ultimaModificacao != null) {
+            requisicao.header("If-Modified-Since", anterior.ultimaModificacao);
+            condicional = true;
+        }
+        HttpResponse<String> resposta = enviar(requisicao.build(), condicional);
+        long agora = System.nanoTime();
+        long expiraEm = agora + ttl.toNanos();
+        long renovarEm = configuracao.getRenovacaoAntecipada() > 0
+                ? agora + (long) (ttl.toNanos() * configuracao.getRenovacaoAntecipada())
+                : expiraEm;
+        if (resposta.statusCode() == 304) {
+            cache.renovar(caminho, anterior, anterior.renovada(renovarEm, expiraEm), versao);
+            return anterior.corpo;
+        }
+        Object dto = decodificar(resposta.body(), tipo);
+        if (decodificado != null) {
+            decodificado[0] = dto;
+        }
+        cache.guardar(caminho, new EntradaCache(resposta.body(),
+                resposta.headers().firstValue("ETag").orElse(null),
+                resposta.headers().firstValue("Last-Modified").orElse(null),
+                renovarEm,
+                expiraEm,
+                Dependencias.de(dto)), versao);
+        return resposta.body();
+    }
+
+    long getRequisicoesColapsadas() {
+        return colapsador == null ? 0 : colapsador.getColapsadas();
+    }
+
+    <T> T post(String caminho, Object corpo, Type tipo) {
+        return post(caminho, corpo(corpo), tipo);
+    }
+
+    /** Envia um corpo ja serializado, como o de um {@link ModeloCorpo}. */
+    <T> T post(String caminho, HttpRequest.BodyPublisher corpo, Type tipo) {
+        return decodificar(abrir(requisicaoComCorpo(caminho).POST(corpo).build()), tipo);
+    }
+
+    <T> T put(String caminho, Object corpo, Type tipo) {
+        return decodificar(abrir(requisicaoComCorpo(caminho).PUT(corpo(corpo)).build()), tipo);
+    }
+
+    void delete(String caminho) {
+        enviar(requisicao(caminho).DELETE().build());
+    }
+
+    /**
+     * Abre o corpo da resposta como stream, sem materializa-lo em memoria. Quem
+     * chama e responsavel por fechar o stream.
+     */
+    InputStream abrirStream(String caminho) {
+        return abrir(requisicao(caminho).GET().build());
+    }
+
+    private InputStream abrir(HttpRequest requisicao) {
+        long inicio = System.nanoTime();
+        InputStream aberto = null;
+        try {
+            HttpResponse<InputStream> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+            if (resposta.statusCode() < 200 || resposta.statusCode() >= 300) {
+                try (InputStream corpo = resposta.body()) {
+                    verificarStatus(resposta.statusCode(), new String(corpo.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            aberto = resposta.body();
+        } catch (IOException e) {
+            throw new ApiRestauranteException("Falha de comunicacao com " + requisicao.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiRestauranteException("Requisicao interrompida: " + requisicao.uri(), e);
+        } finally {
+            if (aberto == null) {
+                observar(requisicao, inicio);
+            }
+        }
+        return observador == null ? aberto : observado(aberto, requisicao, inicio);
+    }
+
+    /** O corpo e lido depois que abrir retorna; a requisicao so termina quando o stream e fechado. */
+    private InputStream observado(InputStream corpo, HttpRequest requisicao, long inicio) {
+        return new FilterInputStream(corpo) {
+            private boolean fechado;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!fechado) {
+                        fechado = true;
+                        observar(requisicao, inicio);
+                    }
+                }
+            }
+        };
+    }
+
+    private void observar(HttpRequest requisicao, long inicio) {
+        if (observador != null) {
+            observador.requisicao(requisicao.method(), requisicao.uri().getPath(), inicio, System.nanoTime());
+        }
+    }
+
+    /** Como {@link #get}: sem colapsamento, decodifica dos bytes recebidos, sem String intermediaria. */
+    <T> CompletableFuture<T> getAsync(String caminho, Type tipo) {
+        if (colapsador == null) {
+            return enviarAsync(requisicao(caminho).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray(), TransporteHttp::texto)
+                    .thenApply(resposta -> decodificar(resposta.body(), tipo));
+        }
+        return colapsador.executarAsync(caminho, () -> buscarAsync(caminho))
+                .thenApply(texto -> decodificar(texto, tipo));
+    }
+
+    private CompletableFuture<String> buscarAsync(String caminho) {
+        return enviarAsync(requisicao(caminho).GET().build(), HttpResponse.BodyHandlers.ofString(), texto -> texto)
+                .thenApply(HttpResponse::body);
+    }
+
+    <T> CompletableFuture<T> postAsync(String caminho, Object corpo, Type tipo) {
+        return enviarAsync(requisicaoComCorpo(caminho).POST(corpo(corpo)).build(),
+                HttpResponse.BodyHandlers.ofByteArray(), TransporteHttp::texto)
+                .thenApply(resposta -> decodificar(resposta.body(), tipo));
+    }
+
+    <T> CompletableFuture<T> putAsync(String caminho, Object corpo, Type tipo) {
+        return enviarAsync(requisicaoComCorpo(caminho).PUT(corpo(corpo)).build(),
+                HttpResponse.BodyHandlers.ofByteArray(), TransporteHttp::texto)
+                .thenApply(resposta -> decodificar(resposta.body(), tipo));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(urlBase + caminho))
+                .timeout(timeout)
+                .header("Accept", JSON);
+    }
+
+    private HttpRequest.Builder requisicaoComCorpo(String caminho) {
+        return requisicao(caminho).header("Content-Type", JSON);
+    }
+
+    /** Serializa direto em bytes UTF-8, que o HttpClient envia sem copiar. */
+    private HttpRequest.BodyPublisher corpo(Object corpo) {
+        return new EscritorJsonBytes().escrever(gson, corpo).publicador();
+    }
+
+    private HttpResponse<String> enviar(HttpRequest requisicao) {
+        return enviar(requisicao, false);
+    }
+
+    /** @param condicional se a requisicao leva If-None-Match/If-Modified-Since, e 304 e resposta valida */
+    private HttpResponse<String> enviar(HttpRequest requisicao, boolean condicional) {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta;
+        try {
+            resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new ApiRestauranteException("Falha de comunicacao com " + requisicao.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiRestauranteException("Requisicao interrompida: " + requisicao.uri(), e);
+        } finally {
+            observar(requisicao, inicio);
+        }
+        if (!condicional || resposta.statusCode() != 304) {
+            verificarStatus(resposta.statusCode(), resposta.body());
+        }
+        return resposta;
+    }
+
+    /**
+     * Nao bloqueia: a resposta e tratada na thread do HttpClient. Falhas de rede e
+     * status de erro completam o future com {@link ApiRestauranteException}.
+     */
+    private <B> CompletableFuture<HttpResponse<B>> enviarAsync(HttpRequest requisicao,
+            HttpResponse.BodyHandler<B> leitor, Function<B, String> comoTexto) {
+        long inicio = System.nanoTime();
+        return http.sendAsync(requisicao, leitor)
+                .handle((resposta, erro) -> {
+                    observar(requisicao, inicio);
+                    if (erro != null) {
+                        Throwable causa = erro instanceof CompletionException && erro.getCause() != null
+                                ? erro.getCause()
+                                : erro;
+                        throw new ApiRestauranteException("Falha de comunicacao com " + requisicao.uri(), causa);
+                    }
+                    if (resposta.statusCode() < 200 || resposta.statusCode() >= 300) {
+                        verificarStatus(resposta.statusCode(), comoTexto.apply(resposta.body()));
+                    }
+                    return resposta;
+                });
+    }
+
+    private void verificarStatus(int status, String corpo) {
+        if (status >= 200 && status < 300) {
+            return;
+        }
+        throw new ApiRestauranteException(status, extrairTexto(corpo));
+    }
+
+    private String extrairTexto(String corpo) {
+        if (corpo == null || corpo.isBlank()) {
+            return "";
+        }
+        try {
+            JsonObject erro = gson.fromJson(corpo, JsonObject.class);
+            if (erro != null && erro.has("texto")) {
+                return erro.get("texto").getAsString();
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            // corpo de erro fora do formato {"texto": ...}: devolve como veio
+        }
+        return corpo;
+    }
+
+    private <T> T decodificar(String corpo, Type tipo) {
+        if (tipo == null || corpo == null || corpo.isEmpty()) {
+            return null;
+        }
+        return gson.fromJson(corpo, tipo);
+    }
+
+    private <T> T decodificar(byte[] corpo, Type tipo) {
+        if (tipo == null || corpo.length == 0) {
+            return null;
+        }
+        return decodificar(new ByteArrayInputStream(corpo), tipo);
+    }
+
+    /** Decodifica o UTF-8 direto do stream, que e consumido ate o fim e fechado; corpo vazio vira null. */
+    private <T> T decodificar(InputStream corpo, Type tipo) {
+        try (Reader leitor = new InputStreamReader(corpo, StandardCharsets.UTF_8)) {
+            if (tipo == null) {
+                leitor.transferTo(Writer.nullWriter());
+                return null;
+            }
+            return gson.fromJson(leitor, tipo);
+        } catch (IOException e) {
+            throw new ApiRestauranteException("Falha ao ler a resposta", e);
+        }
+    }
+
+    private static String texto(byte[] corpo) {
+        return new String(corpo, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,15 @@
+package ifmt.cba.codec;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um DTO para o {@link ProcessadorCodec}, que gera em tempo de
+ * compilacao o codec JSON da classe e o registra em {@code CodecsDTO}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GerarCodec {
+}
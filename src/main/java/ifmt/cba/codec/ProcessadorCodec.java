@@ -0,0 +1,443 @@
+package ifmt.cba.codec;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Gera, para cada classe anotada com {@link GerarCodec}, um codec de streaming
+ * ({@code JsonReader}/{@code JsonWriter}) no pacote {@code ifmt.cba.utils}, e a
+ * fabrica {@code CodecsDTO} que os registra no Gson. O codigo gerado le e
+ * escreve pelos getters e setters e cria o DTO com {@code new}, sem reflexao.
+ * <p>
+ * Gera tambem, no pacote de cada DTO, a classe {@code TextosDTO}, cujo
+ * {@code texto(dto)} reproduz sem reflexao a saida de
+ * {@code ToStringBuilder.reflectionToString(dto, ToStringStyle.JSON_STYLE)}:
+ * campos em ordem alfabetica (os da classe, depois os das superclasses),
+ * textos, enums e datas entre aspas com o escape de
+ * {@code StringEscapeUtils.escapeJson}, DTOs aninhados e listas sem aspas e
+ * {@code null} para valores nulos. Diferente do original, uma referencia
+ * circular nao e detectada; os DTOs da API nao tem ciclos.
+ * <p>
+ * Tipos de campo aceitos: {@code int}, {@code float}, {@code String}, enums,
+ * {@code List} de outro tipo e qualquer classe que o Gson saiba adaptar (DTOs,
+ * {@code LocalDate}, {@code LocalTime}). Os campos seguem a ordem do adaptador
+ * reflexivo do Gson: os da classe primeiro, depois os das superclasses, cada
+ * grupo na ordem de declaracao.
+ */
+@SupportedAnnotationTypes("ifmt.cba.codec.GerarCodec")
+public class ProcessadorCodec extends AbstractProcessor {
+
+    static final String PACOTE = "ifmt.cba.utils";
+    static final String FABRICA = "CodecsDTO";
+    static final String TEXTOS = "TextosDTO";
+
+    private enum Categoria { INT, FLOAT, TEXTO, ENUM, LISTA, OBJETO }
+
+    /** Campo do DTO e como le-lo e escreve-lo. */
+    private static final class Campo {
+
+        final String nome;
+        final String acessor;
+        final Categoria categoria;
+        /** Tipo do adaptador aninhado (ou do enum); {@code null} nos tipos simples. */
+        final TypeElement tipo;
+        /** 0 para campos da propria classe, 1 para os da superclasse, e assim por diante. */
+        int nivel;
+
+        Campo(String nome, String acessor, Categoria categoria, TypeElement tipo) {
+            this.nome = nome;
+            this.acessor = acessor;
+            this.categoria = categoria;
+            this.tipo = tipo;
+        }
+    }
+
+    private final List<TypeElement> gerados = new ArrayList<>();
+    private final Map<TypeElement, List<Campo>> camposGerados = new LinkedHashMap<>();
+    private boolean fabricaGerada;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> anotacoes, RoundEnvironment rodada) {
+        int antes = gerados.size();
+        for (TypeElement anotacao : anotacoes) {
+            for (Element elemento : rodada.getElementsAnnotatedWith(anotacao)) {
+                if (elemento.getKind() != ElementKind.CLASS) {
+                    erro(elemento, "@GerarCodec so se aplica a classes");
+                    continue;
+                }
+                TypeElement dto = (TypeElement) elemento;
+                List<Campo> campos = campos(dto);
+                if (campos != null) {
+                    escrever(PACOTE + "." + nomeCodec(dto), codec(dto, campos), dto);
+                    gerados.add(dto);
+                    camposGerados.put(dto, campos);
+                }
+            }
+        }
+        if (gerados.size() > antes) {
+            if (fabricaGerada) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "@GerarCodec em classe gerada por outro processador nao e suportado");
+            } else {
+                escrever(PACOTE + "." + FABRICA, fabrica(), gerados.toArray(new Element[0]));
+                Map<String, List<TypeElement>> porPacote = new LinkedHashMap<>();
+                for (TypeElement dto : gerados) {
+                    porPacote.computeIfAbsent(pacote(dto), chave -> new ArrayList<>()).add(dto);
+                }
+                for (Map.Entry<String, List<TypeElement>> pacote : porPacote.entrySet()) {
+                    escrever(pacote.getKey() + "." + TEXTOS, textos(pacote.getKey(), pacote.getValue()),
+                            pacote.getValue().toArray(new Element[0]));
+                }
+                fabricaGerada = true;
+            }
+        }
+        return true;
+    }
+
+    private List<Campo> campos(TypeElement dto) {
+        List<Campo> campos = new ArrayList<>();
+        boolean valido = true;
+        List<ExecutableElement> metodos = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(dto));
+        int nivel = 0;
+        for (TypeElement classe = dto; classe != null; classe = superclasse(classe), nivel++) {
+            for (VariableElement campo : ElementFilter.fieldsIn(classe.getEnclosedElements())) {
+                Set<Modifier> modificadores = campo.getModifiers();
+                if (modificadores.contains(Modifier.STATIC) || modificadores.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String nome = campo.getSimpleName().toString();
+                String acessor = Character.toUpperCase(nome.charAt(0)) + nome.substring(1);
+                if (!temMetodo(metodos, "get" + acessor, 0) || !temMetodo(metodos, "set" + acessor, 1)) {
+                    erro(campo, "campo sem get" + acessor + "/set" + acessor);
+                    valido = false;
+                    continue;
+                }
+                Campo classificado = classificar(campo, nome, acessor);
+                if (classificado == null) {
+                    erro(campo, "tipo de campo nao suportado pelo codec: " + campo.asType());
+                    valido = false;
+                } else {
+                    classificado.nivel = nivel;
+                    campos.add(classificado);
+                }
+            }
+        }
+        return valido ? campos : null;
+    }
+
+    private TypeElement superclasse(TypeElement classe) {
+        TypeMirror superclasse = classe.getSuperclass();
+        if (superclasse.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement elemento = (TypeElement) ((DeclaredType) superclasse).asElement();
+        return elemento.getQualifiedName().contentEquals("java.lang.Object") ? null : elemento;
+    }
+
+    private static boolean temMetodo(List<ExecutableElement> metodos, String nome, int parametros) {
+        for (ExecutableElement metodo : metodos) {
+            if (metodo.getSimpleName().contentEquals(nome) && metodo.getParameters().size() == parametros
+                    && !metodo.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Campo classificar(VariableElement campo, String nome, String acessor) {
+        TypeMirror tipo = campo.asType();
+        if (tipo.getKind() == TypeKind.INT) {
+            return new Campo(nome, acessor, Categoria.INT, null);
+        }
+        if (tipo.getKind() == TypeKind.FLOAT) {
+            return new Campo(nome, acessor, Categoria.FLOAT, null);
+        }
+        if (tipo.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declarado = (DeclaredType) tipo;
+        TypeElement elemento = (TypeElement) declarado.asElement();
+        String qualificado = elemento.getQualifiedName().toString();
+        if (qualificado.equals("java.lang.String")) {
+            return new Campo(nome, acessor, Categoria.TEXTO, null);
+        }
+        if (elemento.getKind() == ElementKind.ENUM) {
+            return new Campo(nome, acessor, Categoria.ENUM, elemento);
+        }
+        if (qualificado.equals("java.util.List")) {
+            List<? extends TypeMirror> argumentos = declarado.getTypeArguments();
+            if (argumentos.size() != 1 || argumentos.get(0).getKind() != TypeKind.DECLARED) {
+                return null;
+            }
+            return new Campo(nome, acessor, Categoria.LISTA,
+                    (TypeElement) ((DeclaredType) argumentos.get(0)).asElement());
+        }
+        if (!declarado.getTypeArguments().isEmpty()) {
+            return null;
+        }
+        return new Campo(nome, acessor, Categoria.OBJETO, elemento);
+    }
+
+    static String nomeCodec(TypeElement dto) {
+        String nome = dto.getSimpleName().toString();
+        return (nome.endsWith("DTO") ? nome.substring(0, nome.length() - 3) : nome) + "Codec";
+    }
+
+    /** Nome do campo que guarda o adaptador aninhado: ItemPedidoDTO vira itemPedido. */
+    private static String nomeAdaptador(TypeElement tipo) {
+        String nome = tipo.getSimpleName().toString();
+        if (nome.endsWith("DTO")) {
+            nome = nome.substring(0, nome.length() - 3);
+        }
+        return Character.toLowerCase(nome.charAt(0)) + nome.substring(1);
+    }
+
+    private String codec(TypeElement dto, List<Campo> campos) {
+        String classe = dto.getSimpleName().toString();
+        Set<String> importacoes = new TreeSet<>();
+        importacoes.add(dto.getQualifiedName().toString());
+        Map<String, TypeElement> adaptadores = new LinkedHashMap<>();
+        for (Campo campo : campos) {
+            if (campo.tipo != null) {
+                importacoes.add(campo.tipo.getQualifiedName().toString());
+            }
+            if (campo.categoria == Categoria.LISTA || campo.categoria == Categoria.OBJETO) {
+                adaptadores.putIfAbsent(nomeAdaptador(campo.tipo), campo.tipo);
+            }
+        }
+
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(PACOTE).append(";\n\n");
+        java.append("import java.io.IOException;\n");
+        for (String importacao : importacoes) {
+            if (importacao.startsWith("java.")) {
+                java.append("import ").append(importacao).append(";\n");
+            }
+        }
+        java.append("\nimport javax.annotation.processing.Generated;\n\n");
+        java.append("import com.google.gson.Gson;\n");
+        if (!adaptadores.isEmpty()) {
+            java.append("import com.google.gson.TypeAdapter;\n");
+        }
+        java.append("import com.google.gson.stream.JsonReader;\n");
+        java.append("import com.google.gson.stream.JsonWriter;\n\n");
+        for (String importacao : importacoes) {
+            if (!importacao.startsWith("java.")) {
+                java.append("import ").append(importacao).append(";\n");
+            }
+        }
+        java.append("\n@Generated(\"").append(ProcessadorCodec.class.getName()).append("\")\n");
+        java.append("final class ").append(nomeCodec(dto)).append(" extends AdaptadorDTO<").append(classe).append("> {\n\n");
+        for (Map.Entry<String, TypeElement> adaptador : adaptadores.entrySet()) {
+            java.append("    private final TypeAdapter<").append(adaptador.getValue().getSimpleName())
+                    .append("> ").append(adaptador.getKey()).append(";\n");
+        }
+        if (!adaptadores.isEmpty()) {
+            java.append("\n");
+        }
+        java.append("    ").append(nomeCodec(dto)).append("(Gson gson) {\n");
+        for (Map.Entry<String, TypeElement> adaptador : adaptadores.entrySet()) {
+            java.append("        this.").append(adaptador.getKey()).append(" = gson.getAdapter(")
+                    .append(adaptador.getValue().getSimpleName()).append(".class);\n");
+        }
+        java.append("    }\n\n");
+
+        java.append("    @Override\n");
+        java.append("    protected ").append(classe).append(" novo() {\n");
+        java.append("        return new ").append(classe).append("();\n");
+        java.append("    }\n\n");
+
+        for (Campo campo : campos) {
+            if (campo.nome.equals("codigo") && campo.categoria == Categoria.INT) {
+                java.append("    @Override\n");
+                java.append("    protected int codigo(").append(classe).append(" dto) {\n");
+                java.append("        return dto.getCodigo();\n");
+                java.append("    }\n\n");
+            }
+        }
+
+        java.append("    @Override\n");
+        java.append("    protected boolean lerCampo(JsonReader in, String nome, ").append(classe)
+                .append(" dto) throws IOException {\n");
+        java.append("        switch (nome) {\n");
+        for (Campo campo : campos) {
+            java.append("            case \"").append(campo.nome).append("\":\n");
+            java.append("                dto.set").append(campo.acessor).append("(").append(leitura(campo)).append(");\n");
+            java.append("                return true;\n");
+        }
+        java.append("            default:\n");
+        java.append("                return false;\n");
+        java.append("        }\n");
+        java.append("    }\n\n");
+
+        java.append("    @Override\n");
+        java.append("    protected void escreverCampos(JsonWriter out, ").append(classe).append(" dto) throws IOException {\n");
+        for (Campo campo : campos) {
+            String valor = "dto.get" + campo.acessor + "()";
+            switch (campo.categoria) {
+                case INT, FLOAT, TEXTO -> java.append("        out.name(\"").append(campo.nome).append("\").value(")
+                        .append(valor).append(");\n");
+                case ENUM -> java.append("        out.name(\"").append(campo.nome).append("\");\n")
+                        .append("        escreverEnum(out, ").append(valor).append(");\n");
+                case LISTA -> java.append("        out.name(\"").append(campo.nome).append("\");\n")
+                        .append("        escreverLista(out, ").append(valor).append(", ")
+                        .append(nomeAdaptador(campo.tipo)).append(");\n");
+                case OBJETO -> java.append("        out.name(\"").append(campo.nome).append("\");\n")
+                        .append("        ").append(nomeAdaptador(campo.tipo)).append(".write(out, ")
+                        .append(valor).append(");\n");
+            }
+        }
+        java.append("    }\n");
+        java.append("}\n");
+        return java.toString();
+    }
+
+    private static String leitura(Campo campo) {
+        return switch (campo.categoria) {
+            case INT -> "lerInt(in, dto.get" + campo.acessor + "())";
+            case FLOAT -> "lerFloat(in, dto.get" + campo.acessor + "())";
+            case TEXTO -> "lerTexto(in)";
+            case ENUM -> "lerEnum(in, " + campo.tipo.getSimpleName() + ".values())";
+            case LISTA -> "lerLista(in, " + nomeAdaptador(campo.tipo) + ")";
+            case OBJETO -> nomeAdaptador(campo.tipo) + ".read(in)";
+        };
+    }
+
+    private String fabrica() {
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(PACOTE).append(";\n\n");
+        java.append("import javax.annotation.processing.Generated;\n\n");
+        java.append("import com.google.gson.Gson;\n");
+        java.append("import com.google.gson.TypeAdapter;\n");
+        java.append("import com.google.gson.TypeAdapterFactory;\n");
+        java.append("import com.google.gson.reflect.TypeToken;\n\n");
+        Set<String> importacoes = new TreeSet<>();
+        for (TypeElement dto : gerados) {
+            importacoes.add(dto.getQualifiedName().toString());
+        }
+        for (String importacao : importacoes) {
+            java.append("import ").append(importacao).append(";\n");
+        }
+        java.append("\n/** Entrega ao Gson o codec gerado de cada DTO; o Gson guarda o resultado por tipo. */\n");
+        java.append("@Generated(\"").append(ProcessadorCodec.class.getName()).append("\")\n");
+        java.append("final class ").append(FABRICA).append(" implements TypeAdapterFactory {\n\n");
+        java.append("    @Override\n");
+        java.append("    @SuppressWarnings(\"unchecked\")\n");
+        java.append("    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> tipo) {\n");
+        java.append("        Class<?> classe = tipo.getRawType();\n");
+        for (TypeElement dto : gerados) {
+            java.append("        if (classe == ").append(dto.getSimpleName()).append(".class) {\n");
+            java.append("            return (TypeAdapter<T>) new ").append(nomeCodec(dto)).append("(gson);\n");
+            java.append("        }\n");
+        }
+        java.append("        return null;\n");
+        java.append("    }\n");
+        java.append("}\n");
+        return java.toString();
+    }
+
+    private String pacote(TypeElement tipo) {
+        return processingEnv.getElementUtils().getPackageOf(tipo).getQualifiedName().toString();
+    }
+
+    private String textos(String pacote, List<TypeElement> dtos) {
+        Set<String> importacoes = new TreeSet<>();
+        importacoes.add(TextoJson.class.getName());
+        for (TypeElement dto : dtos) {
+            if (!pacote(dto).equals(pacote)) {
+                importacoes.add(dto.getQualifiedName().toString());
+            }
+        }
+        StringBuilder java = new StringBuilder();
+        java.append("package ").append(pacote).append(";\n\n");
+        java.append("import javax.annotation.processing.Generated;\n\n");
+        for (String importacao : importacoes) {
+            java.append("import ").append(importacao).append(";\n");
+        }
+        java.append("\n/** toString dos DTOs no formato JSON_STYLE do commons-lang, sem reflexao. */\n");
+        java.append("@Generated(\"").append(ProcessadorCodec.class.getName()).append("\")\n");
+        java.append("final class ").append(TEXTOS).append(" {\n\n");
+        java.append("    private ").append(TEXTOS).append("() {\n");
+        java.append("    }\n");
+        for (TypeElement dto : dtos) {
+            String classe = dto.getSimpleName().toString();
+            List<Campo> campos = new ArrayList<>(camposGerados.get(dto));
+            campos.sort((a, b) -> a.nivel != b.nivel ? Integer.compare(a.nivel, b.nivel) : a.nome.compareTo(b.nome));
+
+            java.append("\n    static String texto(").append(classe).append(" dto) {\n");
+            java.append("        StringBuilder texto = new StringBuilder(").append(32 + 24 * campos.size()).append(");\n");
+            java.append("        escrever(texto, dto);\n");
+            java.append("        return texto.toString();\n");
+            java.append("    }\n\n");
+
+            java.append("    private static void escrever(StringBuilder texto, ").append(classe).append(" dto) {\n");
+            String separador = "{";
+            for (Campo campo : campos) {
+                String valor = "dto.get" + campo.acessor + "()";
+                java.append("        texto.append(\"").append(separador).append("\\\"").append(campo.nome)
+                        .append("\\\":\");\n");
+                switch (campo.categoria) {
+                    case INT, FLOAT -> java.append("        texto.append(").append(valor).append(");\n");
+                    case TEXTO -> java.append("        TextoJson.texto(texto, ").append(valor).append(");\n");
+                    case LISTA -> java.append("        TextoJson.lista(texto, ").append(valor).append(");\n");
+                    case ENUM -> java.append("        TextoJson.valor(texto, ").append(valor).append(");\n");
+                    case OBJETO -> {
+                        if (gerados.contains(campo.tipo) && pacote(campo.tipo).equals(pacote)) {
+                            java.append("        if (").append(valor).append(" == null) {\n");
+                            java.append("            texto.append(\"null\");\n");
+                            java.append("        } else {\n");
+                            java.append("            escrever(texto, ").append(valor).append(");\n");
+                            java.append("        }\n");
+                        } else {
+                            java.append("        TextoJson.valor(texto, ").append(valor).append(");\n");
+                        }
+                    }
+                }
+                separador = ",";
+            }
+            java.append(campos.isEmpty() ? "        texto.append(\"{}\");\n" : "        texto.append('}');\n");
+            java.append("    }\n");
+        }
+        java.append("}\n");
+        return java.toString();
+    }
+
+    private void escrever(String nome, String codigo, Element... origens) {
+        try (PrintWriter saida = new PrintWriter(processingEnv.getFiler().createSourceFile(nome, origens).openWriter())) {
+            saida.print(codigo);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "nao foi possivel gerar " + nome + ": " + e);
+        }
+    }
+
+    private void erro(Element elemento, String mensagem) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, mensagem, elemento);
+    }
+}
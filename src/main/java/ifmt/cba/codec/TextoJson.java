@@ -0,0 +1,84 @@
+package ifmt.cba.codec;
+
+import java.util.List;
+
+/**
+ * Trechos do formato {@code ToStringStyle.JSON_STYLE} do commons-lang usados
+ * pelos {@code TextosDTO} gerados. Cada metodo acrescenta ao buffer exatamente
+ * o que o {@code ToStringBuilder} acrescentaria para o mesmo valor.
+ */
+public final class TextoJson {
+
+    private static final char[] HEXA = "0123456789ABCDEF".toCharArray();
+
+    private TextoJson() {
+    }
+
+    /** Lista vazia ou nula como o {@code toString} da lista; senao cada item como em {@link #valor}. */
+    public static void lista(StringBuilder texto, List<?> lista) {
+        if (lista == null || lista.isEmpty()) {
+            texto.append(lista);
+            return;
+        }
+        texto.append('[');
+        boolean primeiro = true;
+        for (Object item : lista) {
+            if (!primeiro) {
+                texto.append(',');
+            }
+            valor(texto, item);
+            primeiro = false;
+        }
+        texto.append(']');
+    }
+
+    /** Numeros crus; objetos cujo toString ja e objeto ou array JSON sem aspas; o resto como texto. */
+    public static void valor(StringBuilder texto, Object valor) {
+        if (valor == null) {
+            texto.append("null");
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            texto.append(valor);
+        } else if (valor instanceof String || valor instanceof Character) {
+            texto(texto, valor.toString());
+        } else {
+            String convertido = valor.toString();
+            if (convertido.startsWith("{") && convertido.endsWith("}")
+                    || convertido.startsWith("[") && convertido.endsWith("]")) {
+                texto.append(convertido);
+            } else {
+                texto(texto, convertido);
+            }
+        }
+    }
+
+    /** Entre aspas, com o mesmo escape de {@code StringEscapeUtils.escapeJson}; nulo vira {@code null}. */
+    public static void texto(StringBuilder texto, String valor) {
+        if (valor == null) {
+            texto.append("null");
+            return;
+        }
+        texto.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> texto.append("\\\"");
+                case '\\' -> texto.append("\\\\");
+                case '/' -> texto.append("\\/");
+                case '\b' -> texto.append("\\b");
+                case '\n' -> texto.append("\\n");
+                case '\t' -> texto.append("\\t");
+                case '\f' -> texto.append("\\f");
+                case '\r' -> texto.append("\\r");
+                default -> {
+                    if (c < 32 || c > 0x7f) {
+                        texto.append("\\u").append(HEXA[c >> 12]).append(HEXA[c >> 8 & 0xF])
+                                .append(HEXA[c >> 4 & 0xF]).append(HEXA[c & 0xF]);
+                    } else {
+                        texto.append(c);
+                    }
+                }
+            }
+        }
+        texto.append('"');
+    }
+}
@@ -2,9 +2,9 @@ package ifmt.cba.dto;
 
 import java.util.List;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apache.commons.lang3.builder.ToStringStyle;
+import ifmt.cba.codec.GerarCodec;
 
+@GerarCodec
 public class CardapioDTO {
 
     private int codigo;
@@ -55,6 +55,6 @@ public class CardapioDTO {
 
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this, ToStringStyle.JSON_STYLE);
+        return TextosDTO.texto(this);
     }
 }
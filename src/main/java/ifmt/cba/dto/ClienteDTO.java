@@ -1,8 +1,8 @@
 package ifmt.cba.dto;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apache.commons.lang3.builder.ToStringStyle;
+import ifmt.cba.codec.GerarCodec;
 
+@GerarCodec
 public class ClienteDTO {
 
     private int codigo;
@@ -98,6 +98,6 @@ public class ClienteDTO {
     
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this, ToStringStyle.JSON_STYLE);
+        return TextosDTO.texto(this);
     }
 }
@@ -2,9 +2,9 @@ package ifmt.cba.dto;
 
 import java.time.LocalDate;
 
-import org.apache.commons.lang3.builder.ToStringBuilder;
-import org.apache.commons.lang3.builder.ToStringStyle;
+import ifmt.cba.codec.GerarCodec;
 
+@GerarCodec
 public class RegistroEstoqueDTO {
 
     private int codigo;
@@ -65,7 +65,7 @@ public class RegistroEstoqueDTO {
     
     @Override
     public String toString() {
-        return ToStringBuilder.reflectionToString(this, ToStringStyle.JSON_STYLE);
+        return TextosDTO.texto(this);
     }
 
 }
@@ -0,0 +1,144 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Base dos codecs que o {@link ifmt.cba.codec.ProcessadorCodec} gera para os
+ * DTOs. Os codecs leem e escrevem os campos pelos getters e setters, sem
+ * reflexao, reproduzindo o formato do adaptador reflexivo do Gson: campos na
+ * ordem de declaracao, nulos omitidos na escrita, campos desconhecidos
+ * ignorados e {@code null} num campo primitivo mantendo o valor padrao.
+ */
+abstract class AdaptadorDTO<T> extends TypeAdapter<T> {
+
+    /** Pool dos campos texto lidos por todos os codecs; textos longos (descricoes) ficam de fora. */
+    static final PoolTextos TEXTOS = new PoolTextos(8192, 128);
+
+    protected abstract T novo();
+
+    /** Le o valor do campo {@code nome}; devolve {@code false} se o campo nao for do DTO. */
+    protected abstract boolean lerCampo(JsonReader in, String nome, T dto) throws IOException;
+
+    protected abstract void escreverCampos(JsonWriter out, T dto) throws IOException;
+
+    /** Codigo da entidade, usado pelo {@link DeduplicadorDTO}; 0 se o DTO nao tiver codigo. */
+    protected int codigo(T dto) {
+        return 0;
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        T dto = novo();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!lerCampo(in, in.nextName(), dto)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return dto;
+    }
+
+    @Override
+    public void write(JsonWriter out, T dto) throws IOException {
+        if (dto == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        escreverCampos(out, dto);
+        out.endObject();
+    }
+
+    protected static int lerInt(JsonReader in, int atual) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return atual;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static float lerFloat(JsonReader in, float atual) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return atual;
+        }
+        return (float) in.nextDouble();
+    }
+
+    protected static String lerTexto(JsonReader in) throws IOException {
+        return TEXTOS.canonico(lerTextoSemPool(in));
+    }
+
+    private static String lerTextoSemPool(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /** Constante com o nome lido, ou {@code null} para nomes desconhecidos, como faz o Gson. */
+    protected static <E extends Enum<E>> E lerEnum(JsonReader in, E[] constantes) throws IOException {
+        String nome = lerTextoSemPool(in);
+        if (nome != null) {
+            for (E constante : constantes) {
+                if (constante.name().equals(nome)) {
+                    return constante;
+                }
+            }
+        }
+        return null;
+    }
+
+    protected static <E> List<E> lerLista(JsonReader in, TypeAdapter<E> elemento) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<E> lista = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            lista.add(elemento.read(in));
+        }
+        in.endArray();
+        return lista;
+    }
+
+    protected static void escreverEnum(JsonWriter out, Enum<?> constante) throws IOException {
+        out.value(constante == null ? null : constante.name());
+    }
+
+    protected static <E> void escreverLista(JsonWriter out, List<E> lista, TypeAdapter<E> elemento)
+            throws IOException {
+        if (lista == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (E item : lista) {
+            elemento.write(out, item);
+        }
+        out.endArray();
+    }
+}
@@ -0,0 +1,93 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Faz com que, dentro de uma mesma leitura ({@code fromJson}), entidades
+ * repetidas com o mesmo tipo e codigo virem uma unica instancia. Numa lista de
+ * pedidos do mesmo cliente, o ClienteDTO, o BairroDTO e os preparos de cada
+ * item passam a ser compartilhados entre os elementos.
+ * <p>
+ * O escopo e a leitura mais externa da thread: ao terminar, as entidades vistas
+ * sao esquecidas, e a resposta seguinte recebe instancias novas. Como os objetos
+ * sao compartilhados, alterar um deles altera todos os lugares em que aparece.
+ * DTOs com codigo 0 (ainda nao gravados) nunca sao unificados.
+ */
+final class DeduplicadorDTO implements TypeAdapterFactory {
+
+    private record Chave(Class<?> tipo, int codigo) {
+    }
+
+    /** Entidades vistas na leitura em andamento e a profundidade de leituras aninhadas. */
+    private static final class Escopo {
+
+        final Map<Chave, Object> vistos = new HashMap<>();
+        int profundidade;
+    }
+
+    private static final ThreadLocal<Escopo> ESCOPO = ThreadLocal.withInitial(Escopo::new);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> tipo) {
+        Class<?> classe = tipo.getRawType();
+        TypeAdapter<T> delegado = gson.getDelegateAdapter(this, tipo);
+        if (delegado instanceof AdaptadorDTO<?> adaptador) {
+            return new Canonico<>((AdaptadorDTO<T>) adaptador, classe);
+        }
+        // listas e arrays so abrem o escopo, para que seus elementos compartilhem entidades
+        if (Collection.class.isAssignableFrom(classe) || classe.isArray()) {
+            return new Canonico<>(delegado, null);
+        }
+        return null;
+    }
+
+    private static final class Canonico<T> extends TypeAdapter<T> {
+
+        private final TypeAdapter<T> delegado;
+        private final Class<?> classe;
+
+        Canonico(TypeAdapter<T> delegado, Class<?> classe) {
+            this.delegado = delegado;
+            this.classe = classe;
+        }
+
+        @Override
+        public void write(JsonWriter out, T valor) throws IOException {
+            delegado.write(out, valor);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(JsonReader in) throws IOException {
+            Escopo escopo = ESCOPO.get();
+            escopo.profundidade++;
+            try {
+                T lido = delegado.read(in);
+                if (classe == null || lido == null) {
+                    return lido;
+                }
+                int codigo = ((AdaptadorDTO<T>) delegado).codigo(lido);
+                if (codigo == 0) {
+                    return lido;
+                }
+                Object existente = escopo.vistos.putIfAbsent(new Chave(classe, codigo), lido);
+                return existente == null ? lido : (T) existente;
+            } finally {
+                if (--escopo.profundidade == 0) {
+                    escopo.vistos.clear();
+                }
+            }
+        }
+    }
+}
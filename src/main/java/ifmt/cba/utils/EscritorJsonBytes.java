@@ -0,0 +1,539 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonNull;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * {@link JsonWriter} que grava UTF-8 direto num {@link ByteBuffer} (no heap ou
+ * direto), sem Writer nem Strings intermediarias. Os codecs gerados e os
+ * adaptadores de data e hora funcionam sem mudanca, e a saida e identica byte a
+ * byte a de {@code gson.toJson}: mesmo escape (inclusive o modo html-safe),
+ * mesmo tratamento de nulos e floats no formato de {@link Float#toString}, com
+ * um caminho rapido para os valores monetarios dos DTOs.
+ * <p>
+ * Nao e thread-safe; {@link #limpar()} permite reaproveitar o buffer.
+ */
+public final class EscritorJsonBytes extends JsonWriter {
+
+    // estados da pilha, como em com.google.gson.stream.JsonScope
+    private static final int ARRAY_VAZIO = 1;
+    private static final int ARRAY = 2;
+    private static final int OBJETO_VAZIO = 3;
+    private static final int NOME = 4;
+    private static final int OBJETO = 5;
+    private static final int DOCUMENTO_VAZIO = 6;
+    private static final int DOCUMENTO = 7;
+
+    private static final String[] SUBSTITUTOS = new String[128];
+    private static final String[] SUBSTITUTOS_HTML;
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            SUBSTITUTOS[i] = String.format("\\u%04x", i);
+        }
+        SUBSTITUTOS['"'] = "\\\"";
+        SUBSTITUTOS['\\'] = "\\\\";
+        SUBSTITUTOS['\t'] = "\\t";
+        SUBSTITUTOS['\b'] = "\\b";
+        SUBSTITUTOS['\n'] = "\\n";
+        SUBSTITUTOS['\r'] = "\\r";
+        SUBSTITUTOS['\f'] = "\\f";
+        SUBSTITUTOS_HTML = SUBSTITUTOS.clone();
+        SUBSTITUTOS_HTML['<'] = "\\u003c";
+        SUBSTITUTOS_HTML['>'] = "\\u003e";
+        SUBSTITUTOS_HTML['&'] = "\\u0026";
+        SUBSTITUTOS_HTML['='] = "\\u003d";
+        SUBSTITUTOS_HTML['\''] = "\\u0027";
+    }
+
+    private static final long[] POTENCIAS = {1, 10, 100, 1000};
+
+    private final boolean direto;
+    private ByteBuffer buffer;
+    private int[] pilha = new int[32];
+    private int tamanhoPilha;
+    private String nomePendente;
+
+    public EscritorJsonBytes() {
+        this(256, false);
+    }
+
+    /**
+     * @param direto {@code true} para usar {@link ByteBuffer#allocateDirect}, que o
+     *               HttpClient grava no socket sem copiar para o heap
+     */
+    public EscritorJsonBytes(int capacidadeInicial, boolean direto) {
+        super(Writer.nullWriter());
+        this.direto = direto;
+        this.buffer = alocar(Math.max(16, capacidadeInicial));
+        limpar();
+    }
+
+    /** Descarta o conteudo e o estado, mantendo o buffer ja alocado. */
+    public void limpar() {
+        buffer.clear();
+        tamanhoPilha = 0;
+        empilhar(DOCUMENTO_VAZIO);
+        nomePendente = null;
+    }
+
+    /** Escreve {@code valor} como {@code gson.toJson(valor)} escreveria; devolve este escritor. */
+    public EscritorJsonBytes escrever(Gson gson, Object valor) {
+        if (valor == null) {
+            gson.toJson(JsonNull.INSTANCE, this);
+        } else {
+            gson.toJson(valor, valor.getClass(), this);
+        }
+        return this;
+    }
+
+    public EscritorJsonBytes escrever(Gson gson, Object valor, Type tipo) {
+        gson.toJson(valor, tipo, this);
+        return this;
+    }
+
+    public int getTamanho() {
+        return buffer.position();
+    }
+
+    /** Visao somente leitura dos bytes escritos, sem copia; invalida apos {@link #limpar()}. */
+    public ByteBuffer getBytes() {
+        return buffer.duplicate().flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Corpo de requisicao com os bytes escritos, sem copia. O escritor nao pode
+     * ser limpo nem reescrito enquanto a requisicao estiver em andamento.
+     */
+    public HttpRequest.BodyPublisher publicador() {
+        int tamanho = buffer.position();
+        if (tamanho == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (buffer.hasArray()) {
+            return HttpRequest.BodyPublishers.ofByteArray(buffer.array(), buffer.arrayOffset(), tamanho);
+        }
+        return HttpRequest.BodyPublishers.fromPublisher(new PublicadorUnico(getBytes()), tamanho);
+    }
+
+    @Override
+    public JsonWriter beginArray() {
+        return abrir(ARRAY_VAZIO, '[');
+    }
+
+    @Override
+    public JsonWriter endArray() {
+        return fechar(ARRAY_VAZIO, ARRAY, ']');
+    }
+
+    @Override
+    public JsonWriter beginObject() {
+        return abrir(OBJETO_VAZIO, '{');
+    }
+
+    @Override
+    public JsonWriter endObject() {
+        return fechar(OBJETO_VAZIO, OBJETO, '}');
+    }
+
+    @Override
+    public JsonWriter name(String nome) {
+        Objects.requireNonNull(nome, "name == null");
+        if (nomePendente != null) {
+            throw new IllegalStateException("Already wrote a name, expecting a value.");
+        }
+        int topo = topo();
+        if (topo != OBJETO && topo != OBJETO_VAZIO) {
+            throw new IllegalStateException("Please begin an object before writing a name.");
+        }
+        nomePendente = nome;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String valor) {
+        if (valor == null) {
+            return nullValue();
+        }
+        antesValor();
+        texto(valor);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(String valor) {
+        if (valor == null) {
+            return nullValue();
+        }
+        antesValor();
+        utf8(valor);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() {
+        if (nomePendente != null && !getSerializeNulls()) {
+            // como no Gson: sem serializeNulls, o nome e o valor nulo somem juntos
+            nomePendente = null;
+            return this;
+        }
+        antesValor();
+        ascii("null");
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean valor) {
+        antesValor();
+        ascii(valor ? "true" : "false");
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean valor) {
+        return valor == null ? nullValue() : value(valor.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(float valor) {
+        boolean finito = Float.isFinite(valor);
+        if (!finito) {
+            finito(Float.toString(valor));
+        }
+        antesValor();
+        if (!finito || !floatCurto(valor)) {
+            ascii(Float.toString(valor));
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double valor) {
+        if (!Double.isFinite(valor)) {
+            finito(Double.toString(valor));
+        }
+        antesValor();
+        ascii(Double.toString(valor));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long valor) {
+        antesValor();
+        garantir(20);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            if (valor == Long.MIN_VALUE) {
+                ascii("9223372036854775808");
+                return this;
+            }
+            valor = -valor;
+        }
+        digitos(valor, 0);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number valor) {
+        if (valor == null) {
+            return nullValue();
+        }
+        if (valor instanceof Float f) {
+            return value(f.floatValue());
+        }
+        if (valor instanceof Double d) {
+            return value(d.doubleValue());
+        }
+        String texto = valor.toString();
+        if (texto.equals("-Infinity") || texto.equals("Infinity") || texto.equals("NaN")) {
+            finito(texto);
+        }
+        antesValor();
+        ascii(texto);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tamanhoPilha > 1 || tamanhoPilha == 1 && topo() != DOCUMENTO) {
+            throw new IOException("Incomplete document");
+        }
+    }
+
+    /**
+     * Grava |valor| no formato de Float.toString quando o menor decimal que
+     * volta ao mesmo float tem ate 3 casas e parte inteira abaixo de 10^7.
+     * Devolve {@code false}, sem escrever nada, nos demais casos e nos empates.
+     */
+    private boolean floatCurto(float valor) {
+        float absoluto = Math.abs(valor);
+        if (absoluto == 0) {
+            ascii(Float.floatToRawIntBits(valor) < 0 ? "-0.0" : "0.0");
+            return true;
+        }
+        if (absoluto < 1e-3f || absoluto >= 1e7f) {
+            return false;
+        }
+        // pontos medios ate os vizinhos: exatos em double (25 bits)
+        double baixo = ((double) absoluto + Math.nextDown(absoluto)) / 2;
+        double alto = ((double) absoluto + Math.nextUp(absoluto)) / 2;
+        for (int casas = 0; casas < POTENCIAS.length; casas++) {
+            long escala = POTENCIAS[casas];
+            double inicio = baixo * escala;
+            double fim = alto * escala;
+            if (inicio == Math.rint(inicio) || fim == Math.rint(fim)) {
+                return false; // inteiro na borda do intervalo: depende do arredondamento par
+            }
+            long primeiro = (long) Math.floor(inicio) + 1;
+            long ultimo = (long) Math.ceil(fim) - 1;
+            if (primeiro > ultimo) {
+                continue;
+            }
+            double centro = (double) absoluto * escala;
+            if (centro - Math.floor(centro) == 0.5) {
+                return false;
+            }
+            long escolhido = Math.min(Math.max(Math.round(centro), primeiro), ultimo);
+            if (escolhido >= 10_000_000L * escala) {
+                return false;
+            }
+            garantir(16);
+            if (valor < 0) {
+                buffer.put((byte) '-');
+            }
+            digitos(escolhido / escala, 0);
+            buffer.put((byte) '.');
+            if (casas == 0) {
+                buffer.put((byte) '0');
+            } else {
+                digitos(escolhido % escala, casas);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** Escreve {@code valor} em decimal com pelo menos {@code minimo} digitos; espaco ja garantido. */
+    private void digitos(long valor, int minimo) {
+        int inicio = buffer.position();
+        int quantidade = 0;
+        do {
+            buffer.put((byte) ('0' + valor % 10));
+            valor /= 10;
+            quantidade++;
+        } while (valor > 0 || quantidade < minimo);
+        for (int i = inicio, j = buffer.position() - 1; i < j; i++, j--) {
+            byte troca = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, troca);
+        }
+    }
+
+    private void finito(String texto) {
+        if (getStrictness() != Strictness.LENIENT) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + texto);
+        }
+    }
+
+    private JsonWriter abrir(int vazio, char abertura) {
+        antesValor();
+        empilhar(vazio);
+        garantir(1);
+        buffer.put((byte) abertura);
+        return this;
+    }
+
+    private JsonWriter fechar(int vazio, int naoVazio, char fechamento) {
+        int topo = topo();
+        if (topo != vazio && topo != naoVazio) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (nomePendente != null) {
+            throw new IllegalStateException("Dangling name: " + nomePendente);
+        }
+        tamanhoPilha--;
+        garantir(1);
+        buffer.put((byte) fechamento);
+        return this;
+    }
+
+    /** Grava o nome pendente e o separador adequado ao contexto antes de um valor. */
+    private void antesValor() {
+        if (nomePendente != null) {
+            int topo = topo();
+            if (topo == OBJETO) {
+                garantir(1);
+                buffer.put((byte) ',');
+            } else if (topo != OBJETO_VAZIO) {
+                throw new IllegalStateException("Nesting problem.");
+            }
+            pilha[tamanhoPilha - 1] = NOME;
+            texto(nomePendente);
+            nomePendente = null;
+        }
+        switch (topo()) {
+            case DOCUMENTO -> {
+                if (getStrictness() != Strictness.LENIENT) {
+                    throw new IllegalStateException("JSON must have only one top-level value.");
+                }
+            }
+            case DOCUMENTO_VAZIO -> pilha[tamanhoPilha - 1] = DOCUMENTO;
+            case ARRAY_VAZIO -> pilha[tamanhoPilha - 1] = ARRAY;
+            case ARRAY -> {
+                garantir(1);
+                buffer.put((byte) ',');
+            }
+            case NOME -> {
+                garantir(1);
+                buffer.put((byte) ':');
+                pilha[tamanhoPilha - 1] = OBJETO;
+            }
+            default -> throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    private int topo() {
+        if (tamanhoPilha == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return pilha[tamanhoPilha - 1];
+    }
+
+    private void empilhar(int estado) {
+        if (tamanhoPilha == pilha.length) {
+            pilha = Arrays.copyOf(pilha, tamanhoPilha * 2);
+        }
+        pilha[tamanhoPilha++] = estado;
+    }
+
+    private void texto(String valor) {
+        String[] substitutos = isHtmlSafe() ? SUBSTITUTOS_HTML : SUBSTITUTOS;
+        int tamanho = valor.length();
+        garantir(tamanho * 3 + 2);
+        buffer.put((byte) '"');
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                String substituto = substitutos[c];
+                if (substituto == null) {
+                    buffer.put((byte) c);
+                } else {
+                    garantir(6 + (tamanho - i) * 3);
+                    ascii(substituto);
+                }
+            } else if (c == '\u2028' || c == '\u2029') {
+                garantir(6 + (tamanho - i) * 3);
+                ascii(c == '\u2028' ? "\\u2028" : "\\u2029");
+            } else {
+                i = caractere(valor, i, c);
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    /** Texto ja em JSON, apenas codificado em UTF-8. */
+    private void utf8(String valor) {
+        int tamanho = valor.length();
+        garantir(tamanho * 3);
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else {
+                i = caractere(valor, i, c);
+            }
+        }
+    }
+
+    /** Codifica um caractere nao ASCII; devolve o indice do ultimo char consumido. */
+    private int caractere(String valor, int i, char c) {
+        if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (!Character.isSurrogate(c)) {
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < valor.length()
+                && Character.isLowSurrogate(valor.charAt(i + 1))) {
+            int ponto = Character.toCodePoint(c, valor.charAt(i + 1));
+            buffer.put((byte) (0xF0 | ponto >> 18));
+            buffer.put((byte) (0x80 | ponto >> 12 & 0x3F));
+            buffer.put((byte) (0x80 | ponto >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | ponto & 0x3F));
+            return i + 1;
+        } else {
+            buffer.put((byte) '?'); // surrogate isolado, como String.getBytes(UTF_8)
+        }
+        return i;
+    }
+
+    private void ascii(String texto) {
+        garantir(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            buffer.put((byte) texto.charAt(i));
+        }
+    }
+
+    private void garantir(int adicional) {
+        if (buffer.remaining() < adicional) {
+            ByteBuffer maior = alocar(Math.max(buffer.capacity() * 2, buffer.position() + adicional));
+            maior.put(buffer.flip());
+            buffer = maior;
+        }
+    }
+
+    private ByteBuffer alocar(int capacidade) {
+        return direto ? ByteBuffer.allocateDirect(capacidade) : ByteBuffer.allocate(capacidade);
+    }
+
+    /** Entrega o mesmo buffer a cada assinatura, em um unico onNext. */
+    private static final class PublicadorUnico implements Flow.Publisher<ByteBuffer> {
+
+        private final ByteBuffer bytes;
+
+        PublicadorUnico(ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> assinante) {
+            AtomicBoolean entregue = new AtomicBoolean();
+            assinante.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    if (!entregue.compareAndSet(false, true)) {
+                        return;
+                    }
+                    if (n <= 0) {
+                        assinante.onError(new IllegalArgumentException("request deve ser positivo: " + n));
+                        return;
+                    }
+                    assinante.onNext(bytes.duplicate());
+                    assinante.onComplete();
+                }
+
+                @Override
+                public void cancel() {
+                    entregue.set(true);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ifmt.cba.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Gson unico da aplicacao, com os adaptadores de data e hora e os codecs que o
+ * {@link ifmt.cba.codec.ProcessadorCodec} gera na compilacao para os DTOs
+ * anotados com {@code @GerarCodec}, de modo que nenhum DTO passa pelo
+ * adaptador reflexivo. Gson e thread-safe: o mesmo objeto serve a todos os
+ * testes, clientes e fluxos de carga. Quem precisar de configuracao extra parte
+ * de {@code FabricaGson.getGson().newBuilder()}.
+ */
+public final class FabricaGson {
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+            .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
+            .registerTypeAdapterFactory(new CodecsDTO())
+            .create();
+
+    private static final Gson GSON_DEDUPLICADO = GSON.newBuilder()
+            .registerTypeAdapterFactory(new DeduplicadorDTO())
+            .create();
+
+    private FabricaGson() {
+    }
+
+    public static Gson getGson() {
+        return GSON;
+    }
+
+    /**
+     * Como {@link #getGson()}, mas cada leitura devolve uma unica instancia por
+     * entidade (tipo e codigo) repetida na resposta; ver {@link DeduplicadorDTO}.
+     */
+    public static Gson getGsonDeduplicado() {
+        return GSON_DEDUPLICADO;
+    }
+}
@@ -0,0 +1,133 @@
+package ifmt.cba.utils;
+ 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+ 
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+ 
+/**
+ * Le e escreve yyyy-MM-dd lendo os digitos diretamente. As listas de pedidos e
+ * de estoque repetem poucas datas milhares de vezes, entao as datas recentes
+ * ficam num cache de mapeamento direto com o LocalDate e o texto ja prontos.
+ */
+public class LocalDateAdapter extends TypeAdapter<LocalDate> {
+ 
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+ 
+    /** Potencia de 2; com uma chave por dia cobre quase tres anos sem colisao. */
+    private static final int TAMANHO_CACHE = 1024;
+ 
+    /** Entrada imutavel; leituras concorrentes de uma vaga desatualizada so causam uma falha no cache. */
+    private static final class Dia {
+ 
+        final int chave;
+        final LocalDate data;
+        final String texto;
+ 
+        Dia(int chave, LocalDate data, String texto) {
+            this.chave = chave;
+            this.data = data;
+            this.texto = texto;
+        }
+    }
+ 
+    private static final Dia[] dias = new Dia[TAMANHO_CACHE];
+ 
+    @Override
+    public void write(JsonWriter jsonWriter, LocalDate localDate) throws IOException {
+        if (localDate == null) {
+            jsonWriter.nullValue();
+        } else {
+            jsonWriter.value(formatar(localDate));
+        }
+    }
+ 
+    @Override
+    public LocalDate read(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        String texto = jsonReader.nextString();
+        LocalDate data = interpretar(texto);
+        if (data == null) {
+            throw new IOException("Failed to parse LocalDate: " + texto);
+        }
+        return data;
+    }
+ 
+    /** Interpreta yyyy-MM-dd; devolve {@code null} se o texto nao for uma data valida nesse formato. */
+    static LocalDate interpretar(String texto) {
+        if (texto.length() != 10 || texto.charAt(4) != '-' || texto.charAt(7) != '-') {
+            return null;
+        }
+        int ano = digitos(texto, 0, 4);
+        int mes = digitos(texto, 5, 7);
+        int dia = digitos(texto, 8, 10);
+        if (ano < 1 || mes < 1 || mes > 12 || dia < 1 || dia > 31) {
+            return null;
+        }
+        int chave = chave(ano, mes, dia);
+        Dia emCache = dias[chave & (TAMANHO_CACHE - 1)];
+        if (emCache != null && emCache.chave == chave) {
+            return emCache.data;
+        }
+        LocalDate data;
+        try {
+            data = LocalDate.of(ano, mes, dia);
+        } catch (DateTimeException e) {
+            return null; // dia inexistente no mes, como 2024-02-30
+        }
+        dias[chave & (TAMANHO_CACHE - 1)] = new Dia(chave, data, texto);
+        return data;
+    }
+ 
+    static String formatar(LocalDate data) {
+        int ano = data.getYear();
+        if (ano < 1 || ano > 9999) {
+            return data.format(formatter);
+        }
+        int chave = chave(ano, data.getMonthValue(), data.getDayOfMonth());
+        Dia emCache = dias[chave & (TAMANHO_CACHE - 1)];
+        if (emCache != null && emCache.chave == chave) {
+            return emCache.texto;
+        }
+        char[] texto = new char[10];
+        texto[0] = (char) ('0' + ano / 1000);
+        texto[1] = (char) ('0' + ano / 100 % 10);
+        texto[2] = (char) ('0' + ano / 10 % 10);
+        texto[3] = (char) ('0' + ano % 10);
+        texto[4] = '-';
+        texto[5] = (char) ('0' + data.getMonthValue() / 10);
+        texto[6] = (char) ('0' + data.getMonthValue() % 10);
+        texto[7] = '-';
+        texto[8] = (char) ('0' + data.getDayOfMonth() / 10);
+        texto[9] = (char) ('0' + data.getDayOfMonth() % 10);
+        String formatado = new String(texto);
+        dias[chave & (TAMANHO_CACHE - 1)] = new Dia(chave, data, formatado);
+        return formatado;
+    }
+ 
+    /** Chave unica por dia, crescente e contigua dentro de cada mes. */
+    private static int chave(int ano, int mes, int dia) {
+        return (ano * 12 + mes - 1) * 31 + dia - 1;
+    }
+ 
+    /** Valor dos digitos em [inicio, fim), ou -1 se algum nao for digito. */
+    private static int digitos(String texto, int inicio, int fim) {
+        int valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+}
\ No newline at end of file
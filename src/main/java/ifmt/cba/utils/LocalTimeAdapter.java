@@ -0,0 +1,104 @@
+package ifmt.cba.utils;
+ 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+ 
+import java.io.IOException;
+import java.time.LocalTime;
+ 
+/**
+ * Le HH:mm:ss com fracao opcional de 1 a 9 digitos (.SS, .SSS, ...) numa unica
+ * passada pelos caracteres, sem excecoes no caminho normal; escreve sempre
+ * HH:mm:ss.SSS.
+ */
+public class LocalTimeAdapter extends TypeAdapter<LocalTime> {
+ 
+    private static final int[] ESCALA_NANOS = {
+        0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+ 
+    @Override
+    public void write(JsonWriter out, LocalTime value) throws IOException {
+        if (value != null) {
+            out.value(formatar(value)); // Mantém a formatação com milissegundos
+        } else {
+            out.nullValue();
+        }
+    }
+ 
+    @Override
+    public LocalTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String time = in.nextString();
+        LocalTime hora = interpretar(time);
+        if (hora == null) {
+            throw new IOException("Failed to parse LocalTime: " + time);
+        }
+        return hora;
+    }
+ 
+    /** Interpreta HH:mm:ss[.f{1,9}]; devolve {@code null} se o texto nao estiver nesse formato. */
+    static LocalTime interpretar(String texto) {
+        int tamanho = texto.length();
+        if (tamanho < 8 || tamanho == 9 || tamanho > 18
+                || texto.charAt(2) != ':' || texto.charAt(5) != ':') {
+            return null;
+        }
+        int hora = doisDigitos(texto, 0);
+        int minuto = doisDigitos(texto, 3);
+        int segundo = doisDigitos(texto, 6);
+        if (hora < 0 || hora > 23 || minuto < 0 || minuto > 59 || segundo < 0 || segundo > 59) {
+            return null;
+        }
+        int nanos = 0;
+        if (tamanho > 8) {
+            if (texto.charAt(8) != '.') {
+                return null;
+            }
+            for (int i = 9; i < tamanho; i++) {
+                int digito = texto.charAt(i) - '0';
+                if (digito < 0 || digito > 9) {
+                    return null;
+                }
+                nanos = nanos * 10 + digito;
+            }
+            nanos *= ESCALA_NANOS[tamanho - 9];
+        }
+        return LocalTime.of(hora, minuto, segundo, nanos);
+    }
+ 
+    /** Valor dos dois digitos a partir de {@code inicio}, ou -1 se algum nao for digito. */
+    private static int doisDigitos(String texto, int inicio) {
+        int dezena = texto.charAt(inicio) - '0';
+        int unidade = texto.charAt(inicio + 1) - '0';
+        if (dezena < 0 || dezena > 9 || unidade < 0 || unidade > 9) {
+            return -1;
+        }
+        return dezena * 10 + unidade;
+    }
+ 
+    static String formatar(LocalTime hora) {
+        char[] texto = new char[12];
+        doisDigitos(texto, 0, hora.getHour());
+        texto[2] = ':';
+        doisDigitos(texto, 3, hora.getMinute());
+        texto[5] = ':';
+        doisDigitos(texto, 6, hora.getSecond());
+        texto[8] = '.';
+        int milis = hora.getNano() / 1_000_000;
+        texto[9] = (char) ('0' + milis / 100);
+        texto[10] = (char) ('0' + milis / 10 % 10);
+        texto[11] = (char) ('0' + milis % 10);
+        return new String(texto);
+    }
+ 
+    private static void doisDigitos(char[] texto, int inicio, int valor) {
+        texto[inicio] = (char) ('0' + valor / 10);
+        texto[inicio + 1] = (char) ('0' + valor % 10);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package ifmt.cba.utils;
+
+/**
+ * Pool limitado de textos canonicos. Nomes de bairro e de grupo alimentar,
+ * descricoes de tipo de preparo, links e nomes de enum se repetem em milhares
+ * de DTOs; passando pelo pool, textos iguais lidos em momentos diferentes viram
+ * a mesma instancia e a copia recem lida vira lixo de vida curta.
+ * <p>
+ * A tabela tem tamanho fixo, com duas vagas candidatas por texto; um texto novo
+ * ocupa uma vaga livre ou substitui o da primeira vaga. Nao ha bloqueio: as
+ * vagas sao lidas e escritas sem sincronizacao, o que e seguro porque String e
+ * imutavel; na pior das hipoteses uma corrida faz o pool perder um acerto.
+ */
+public final class PoolTextos {
+
+    private final String[] vagas;
+    private final int mascara;
+    private final int tamanhoMaximoTexto;
+
+    /**
+     * @param capacidade numero de vagas, arredondado para a potencia de 2 seguinte
+     * @param tamanhoMaximoTexto textos maiores passam direto, sem ocupar vaga
+     */
+    public PoolTextos(int capacidade, int tamanhoMaximoTexto) {
+        int vagas = capacidade <= 2 ? 2 : Integer.highestOneBit(capacidade - 1) << 1;
+        this.vagas = new String[vagas];
+        this.mascara = vagas - 1;
+        this.tamanhoMaximoTexto = tamanhoMaximoTexto;
+    }
+
+    /** Instancia do pool igual a {@code texto}, ou o proprio texto, que passa a fazer parte do pool. */
+    public String canonico(String texto) {
+        if (texto == null || texto.length() > tamanhoMaximoTexto) {
+            return texto;
+        }
+        int hash = texto.hashCode();
+        int primeira = (hash ^ hash >>> 16) & mascara;
+        int segunda = primeira ^ 1;
+        String atual = vagas[primeira];
+        if (texto.equals(atual)) {
+            return atual;
+        }
+        String alternativa = vagas[segunda];
+        if (texto.equals(alternativa)) {
+            return alternativa;
+        }
+        vagas[atual == null || alternativa != null ? primeira : segunda] = texto;
+        return texto;
+    }
+
+    public int getCapacidade() {
+        return vagas.length;
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import com.google.gson.Gson;
 
 import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.path.json.JsonPath;
@@ -20,7 +21,7 @@ public class BairroServicoTest {
     
     String dataFormatada = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     
-    Gson gson = new Gson();
+    Gson gson = FabricaGson.getGson();
 
     //#region CONSULTAS
 
@@ -5,21 +5,17 @@ import org.junit.jupiter.api.Test;
 
 import io.restassured.RestAssured;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import ifmt.cba.dto.CardapioDTO;
 import ifmt.cba.dto.PreparoProdutoDTO;
-import ifmt.cba.utils.LocalDateAdapter;
-import ifmt.cba.utils.LocalTimeAdapter;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
 
@@ -27,10 +23,7 @@ public class CardapioServicoTest {
     
     String dataFormatada = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
-    Gson gson = new GsonBuilder()
-        .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-        .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
-    .create();
+    Gson gson = FabricaGson.getGson();
 
     //#region CONSULTAS
 
@@ -0,0 +1,133 @@
+package ifmt.cba;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.client.ApiRestauranteException;
+import ifmt.cba.client.ClienteRestaurante;
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.EntregadorDTO;
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+
+public class ClienteRestauranteTest {
+
+    ClienteRestaurante api = new ClienteRestaurante("http://localhost:8080");
+
+    //#region CONSULTAS
+
+    @Test
+    public void testConsultarPedidoPorCodigo(){
+        PedidoDTO pedidoDTO = api.pedidos().porCodigo(1);
+
+        Assertions.assertEquals(1, pedidoDTO.getCodigo());
+        Assertions.assertEquals(1, pedidoDTO.getCliente().getCodigo());
+        Assertions.assertNotNull(pedidoDTO.getDataPedido());
+        Assertions.assertNotNull(pedidoDTO.getEstado());
+    }
+
+    @Test
+    public void testConsultarPreparoPorCodigo(){
+        PreparoProdutoDTO preparoProdutoDTO = api.preparos().porCodigo(3);
+
+        Assertions.assertEquals(3, preparoProdutoDTO.getCodigo());
+        Assertions.assertEquals(3.0F, preparoProdutoDTO.getValorPreparo());
+    }
+
+    @Test
+    public void testConsultarBairroPorNome(){
+        Assertions.assertEquals("Centro", api.bairros().porNome("Centro").getFirst().getNome());
+    }
+
+    //#endregion
+
+    //#region CREATE, UPDATE, DELETE - OP
+
+    @Test
+    public void testInclusaoComDadosIncorretos(){
+        ApiRestauranteException erro = Assertions.assertThrows(ApiRestauranteException.class,
+            () -> api.pedidos().incluir(new PedidoDTO()));
+
+        Assertions.assertEquals(400, erro.getStatus());
+        Assertions.assertEquals("Data do pedido invalidaHora do pedido invalidaCliente do pedido invalidoEstado do pedido invalidoPedido sem itens", erro.getTexto());
+    }
+
+    @Test
+    public void testMudarEstadoPedido(){
+        ClienteDTO clienteDTO = api.clientes().porCodigo(1);
+        PreparoProdutoDTO preparoProdutoDTO = api.preparos().porCodigo(3);
+
+        ItemPedidoDTO itemPedidoDTO = new ItemPedidoDTO();
+        itemPedidoDTO.setPreparoProduto(preparoProdutoDTO);
+        itemPedidoDTO.setQuantidadePorcao(7);
+
+        List<ItemPedidoDTO> listaItens = new ArrayList<ItemPedidoDTO>();
+        listaItens.add(itemPedidoDTO);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setDataPedido(LocalDate.now());
+        pedidoDTO.setHoraPedido(LocalTime.now());
+        pedidoDTO.setCliente(clienteDTO);
+        pedidoDTO.setEstado(EstadoPedidoDTO.REGISTRADO);
+        pedidoDTO.setListaItens(listaItens);
+
+        PedidoDTO registrado = api.pedidos().incluir(pedidoDTO);
+        Assertions.assertEquals(EstadoPedidoDTO.REGISTRADO, registrado.getEstado());
+
+        PedidoDTO producao = api.pedidos().producao(registrado);
+        Assertions.assertEquals(EstadoPedidoDTO.PRODUCAO, producao.getEstado());
+
+        PedidoDTO pronto = api.pedidos().pronto(producao);
+        Assertions.assertEquals(EstadoPedidoDTO.PRONTO, pronto.getEstado());
+
+        pronto.setEntregador(api.entregadores().porCodigo(1));
+        PedidoDTO entrega = api.pedidos().entrega(pronto);
+        Assertions.assertEquals(EstadoPedidoDTO.ENTREGA, entrega.getEstado());
+
+        PedidoDTO concluido = api.pedidos().concluido(entrega);
+        Assertions.assertEquals(registrado.getCodigo(), concluido.getCodigo());
+        Assertions.assertEquals(EstadoPedidoDTO.CONCLUIDO, concluido.getEstado());
+    }
+
+    @Test
+    public void testMudarEstadoPedidoAsync(){
+        CompletableFuture<ClienteDTO> cliente = api.clientes().porCodigoAsync(1);
+        CompletableFuture<PreparoProdutoDTO> preparo = api.preparos().porCodigoAsync(3);
+        CompletableFuture<EntregadorDTO> entregador = api.entregadores().porCodigoAsync(1);
+
+        PedidoDTO concluido = cliente.thenCombine(preparo, this::novoPedido)
+            .thenCompose(api.pedidos()::incluirAsync)
+            .thenCompose(registrado -> entregador.thenCompose(e -> api.pedidos().concluirAsync(registrado, e)))
+            .join();
+
+        Assertions.assertEquals(EstadoPedidoDTO.CONCLUIDO, concluido.getEstado());
+        Assertions.assertEquals(1, concluido.getEntregador().getCodigo());
+    }
+
+    //#endregion
+
+    private PedidoDTO novoPedido(ClienteDTO clienteDTO, PreparoProdutoDTO preparoProdutoDTO){
+        ItemPedidoDTO itemPedidoDTO = new ItemPedidoDTO();
+        itemPedidoDTO.setPreparoProduto(preparoProdutoDTO);
+        itemPedidoDTO.setQuantidadePorcao(7);
+
+        List<ItemPedidoDTO> listaItens = new ArrayList<ItemPedidoDTO>();
+        listaItens.add(itemPedidoDTO);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setDataPedido(LocalDate.now());
+        pedidoDTO.setHoraPedido(LocalTime.now());
+        pedidoDTO.setCliente(clienteDTO);
+        pedidoDTO.setEstado(EstadoPedidoDTO.REGISTRADO);
+        pedidoDTO.setListaItens(listaItens);
+        return pedidoDTO;
+    }
+}
@@ -1,18 +1,14 @@
 package ifmt.cba;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import ifmt.cba.dto.ColaboradorDTO;
-import ifmt.cba.utils.LocalDateAdapter;
-import ifmt.cba.utils.LocalTimeAdapter;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 
@@ -20,10 +16,7 @@ public class ColaboradorServicoTest {
     
     String dataFormatada = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
-    Gson gson = new GsonBuilder()
-        .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-        .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
-    .create();
+    Gson gson = FabricaGson.getGson();
 
     //#region CONSULTAS
 
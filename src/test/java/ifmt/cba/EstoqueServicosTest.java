@@ -2,19 +2,16 @@ package ifmt.cba;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import ifmt.cba.dto.MovimentoEstoqueDTO;
 import ifmt.cba.dto.ProdutoDTO;
 import ifmt.cba.dto.RegistroEstoqueDTO;
-import ifmt.cba.utils.LocalDateAdapter;
-import ifmt.cba.utils.LocalTimeAdapter;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
@@ -23,10 +20,7 @@ public class EstoqueServicosTest {
 
     String data = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
      
-    Gson gson = new GsonBuilder()
-        .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-        .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
-    .create();
+    Gson gson = FabricaGson.getGson();
 
     //#region CONSULTAS
 
@@ -10,7 +10,6 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import ifmt.cba.dto.ClienteDTO;
 import ifmt.cba.dto.EntregadorDTO;
@@ -18,8 +17,7 @@ import ifmt.cba.dto.EstadoPedidoDTO;
 import ifmt.cba.dto.ItemPedidoDTO;
 import ifmt.cba.dto.PedidoDTO;
 import ifmt.cba.dto.PreparoProdutoDTO;
-import ifmt.cba.utils.LocalDateAdapter;
-import ifmt.cba.utils.LocalTimeAdapter;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
@@ -28,10 +26,7 @@ public class PedidoServicoTest {
 
     String data = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
      
-    Gson gson = new GsonBuilder()
-            .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
-            .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
-        .create();
+    Gson gson = FabricaGson.getGson();
 
     //#region CONSULTAS
 
@@ -0,0 +1,57 @@
+package ifmt.cba.carga;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExecutorFluxosTest {
+
+    @Test
+    public void testExecutarMilharesDeFluxosBloqueantes(){
+        try (ExecutorFluxos executor = new ExecutorFluxos()) {
+            ResumoExecucao resumo = executor.executar(10_000, i -> () -> {
+                Thread.sleep(50);
+                return i;
+            });
+
+            Assertions.assertEquals(10_000, resumo.getSucessos());
+            Assertions.assertEquals(0, resumo.getFalhas());
+            // em threads de plataforma sequenciais seriam 500 segundos
+            Assertions.assertTrue(resumo.getDuracao().toSeconds() < 30, resumo.toString());
+        }
+    }
+
+    @Test
+    public void testContarFalhas(){
+        try (ExecutorFluxos executor = new ExecutorFluxos()) {
+            ResumoExecucao resumo = executor.executar(100, i -> () -> {
+                if (i % 4 == 0) {
+                    throw new IllegalStateException("fluxo " + i);
+                }
+                return i;
+            });
+
+            Assertions.assertEquals(75, resumo.getSucessos());
+            Assertions.assertEquals(25, resumo.getFalhas());
+            Assertions.assertEquals(20, resumo.getErros().size());
+        }
+    }
+
+    @Test
+    public void testLimiteDeFluxosEmVoo(){
+        AtomicInteger emVoo = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+
+        try (ExecutorFluxos executor = new ExecutorFluxos(8)) {
+            executor.executar(200, i -> () -> {
+                maximo.accumulateAndGet(emVoo.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                emVoo.decrementAndGet();
+                return i;
+            });
+        }
+
+        Assertions.assertTrue(maximo.get() <= 8, "maximo em voo: " + maximo.get());
+    }
+}
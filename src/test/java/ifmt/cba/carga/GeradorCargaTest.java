@@ -0,0 +1,113 @@
+package ifmt.cba.carga;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.client.ClienteRestaurante;
+import ifmt.cba.client.ConfiguracaoCliente;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class GeradorCargaTest {
+
+    @Test
+    public void testIntervalosExponenciais(){
+        SplittableRandom aleatorio = new SplittableRandom(24);
+        int amostras = 200_000;
+        double soma = 0;
+        int acimaDaMedia = 0;
+        for (int i = 0; i < amostras; i++) {
+            long intervalo = GeradorCarga.intervalo(aleatorio, 50);
+            soma += intervalo;
+            if (intervalo > 20_000_000) {
+                acimaDaMedia++;
+            }
+        }
+
+        // media 1/taxa e P(X > media) = 1/e
+        Assertions.assertEquals(20_000_000, soma / amostras, 200_000);
+        Assertions.assertEquals(Math.exp(-1), acimaDaMedia / (double) amostras, 0.005);
+    }
+
+    @Test
+    public void testChegadasNaoEsperamOsFluxos(){
+        GeradorCarga gerador = new GeradorCarga(200, Duration.ofSeconds(1), 7);
+        try (ExecutorFluxos executor = new ExecutorFluxos()) {
+            ResumoCarga resumo = gerador.executar(executor, i -> () -> {
+                Thread.sleep(100);
+                return i;
+            });
+
+            int chegadas = resumo.getSucessos();
+            Assertions.assertTrue(chegadas > 150 && chegadas < 250, resumo.toString());
+            Assertions.assertEquals(0, resumo.getFalhas());
+            // num laco fechado com um usuario seriam 10 fluxos e nunca mais de 1 em andamento
+            Assertions.assertTrue(resumo.getMaxEmAndamento() > 5, resumo.toString());
+            Assertions.assertTrue(resumo.getLatencia(50).toMillis() >= 100, resumo.toString());
+        }
+    }
+
+    @Test
+    public void testLatenciaIncluiAFila(){
+        GeradorCarga gerador = new GeradorCarga(100, Duration.ofMillis(500), 3);
+        try (ExecutorFluxos executor = new ExecutorFluxos(1)) {
+            ResumoCarga resumo = gerador.executar(executor, i -> () -> {
+                Thread.sleep(20);
+                if (i % 10 == 9) {
+                    throw new IllegalStateException("fluxo " + i);
+                }
+                return i;
+            });
+
+            // ~50 chegadas, 20ms cada, uma por vez: as ultimas esperam quase 1s na fila
+            Assertions.assertTrue(resumo.getLatencia(99).toMillis() > 300, resumo.toString());
+            Assertions.assertTrue(resumo.getLatencia(0).toMillis() >= 20, resumo.toString());
+            Assertions.assertEquals((resumo.getSucessos() + resumo.getFalhas()) / 10, resumo.getFalhas());
+            Assertions.assertEquals(resumo.getSucessos() + resumo.getFalhas(), resumo.getLatencias().getTotal());
+        }
+    }
+
+    @Test
+    public void testCicloDoPedidoNoServidorSimulado(){
+        // GET devolve a entidade; POST e PUT devolvem o pedido recebido
+        try (ServidorSimulado servidor = new ServidorSimulado().rota("/", troca -> {
+            String corpo = new String(troca.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            ServidorSimulado.responder(troca, 200, corpo.isEmpty() ? "{\"codigo\":1}" : corpo);
+        })) {
+            RegistroLatencias registro = new RegistroLatencias();
+            ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+            configuracao.setObservador(registro);
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl(), configuracao);
+            GeradorCarga gerador = new GeradorCarga(50, Duration.ofMillis(400), 11);
+            try (ExecutorFluxos executor = new ExecutorFluxos()) {
+                ResumoCarga resumo = gerador.executar(executor, registro, i -> new FluxoPedido(api));
+
+                int fluxos = resumo.getSucessos();
+                Assertions.assertEquals(0, resumo.getFalhas(), resumo.getErros().toString());
+                Assertions.assertTrue(fluxos > 0, resumo.toString());
+                Assertions.assertEquals(fluxos, servidor.requisicoes("POST /pedido/"));
+                for (String transicao : new String[] {"producao", "pronto", "entrega", "concluido"}) {
+                    Assertions.assertEquals(fluxos, servidor.requisicoes("PUT /pedido/" + transicao), transicao);
+                }
+
+                Map<String, HistogramaLatencias> porEndpoint = resumo.getLatenciasPorEndpoint();
+                Assertions.assertEquals(8, porEndpoint.size(), porEndpoint.keySet().toString());
+                Assertions.assertEquals(fluxos, porEndpoint.get("POST /pedido/").getTotal());
+                Assertions.assertEquals(fluxos, porEndpoint.get("GET /cliente/codigo/{codigo}").getTotal());
+                Assertions.assertEquals(fluxos, porEndpoint.get("PUT /pedido/concluido").getTotal());
+            }
+        }
+    }
+
+    @Test
+    public void testParametrosInvalidos(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeradorCarga(0, Duration.ofSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeradorCarga(Double.NaN, Duration.ofSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeradorCarga(10, Duration.ZERO));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GeradorCarga.opcoes(new String[] {"taxa=10"}));
+    }
+}
@@ -0,0 +1,101 @@
+package ifmt.cba.carga;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HistogramaLatenciasTest {
+
+    @Test
+    public void testPercentisComErroMenorQueUmPorCento(){
+        SplittableRandom aleatorio = new SplittableRandom(25);
+        long[] valores = new long[100_000];
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (int i = 0; i < valores.length; i++) {
+            // de 1ns a ~17min, log-uniforme
+            valores[i] = (long) Math.exp(aleatorio.nextDouble() * Math.log(1e12));
+            histograma.gravar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        for (double percentil : new double[] {0, 1, 50, 90, 99, 99.9, 99.99, 100}) {
+            long posicao = new BigDecimal(Double.toString(percentil)).multiply(BigDecimal.valueOf(valores.length))
+                .divide(BigDecimal.valueOf(100), 0, RoundingMode.CEILING).longValueExact();
+            long exato = valores[(int) Math.max(0, posicao - 1)];
+            long aproximado = histograma.getValorNoPercentil(percentil);
+            Assertions.assertTrue(aproximado >= exato && aproximado <= exato + exato / 100,
+                "p" + percentil + ": " + aproximado + " x " + exato);
+        }
+        Assertions.assertEquals(valores[valores.length - 1], histograma.getMaximo());
+        Assertions.assertEquals(valores.length, histograma.getTotal());
+    }
+
+    @Test
+    public void testP999DeMilGravacoes(){
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        for (int i = 0; i < 999; i++) {
+            histograma.gravar(100);
+        }
+        histograma.gravar(5000);
+
+        // a 999a de 1000 gravacoes, e nao o maximo
+        Assertions.assertEquals(100, histograma.getValorNoPercentil(99.9));
+        Assertions.assertEquals(5000, histograma.getValorNoPercentil(100));
+        Assertions.assertEquals(100, histograma.getValorNoPercentil(0));
+        Assertions.assertEquals(999, HistogramaLatencias.posicao(99.9, 1000));
+        Assertions.assertEquals(9_990_000, HistogramaLatencias.posicao(99.9, 10_000_000));
+        Assertions.assertEquals(1, HistogramaLatencias.posicao(0.01, 1000));
+    }
+
+    @Test
+    public void testFaixasContiguas(){
+        long anterior = -1;
+        for (int indice = 0; indice < HistogramaLatencias.indice(HistogramaLatencias.MAXIMO_RASTREAVEL); indice++) {
+            long maior = HistogramaLatencias.maiorEquivalente(indice);
+            Assertions.assertEquals(indice, HistogramaLatencias.indice(anterior + 1));
+            Assertions.assertEquals(indice, HistogramaLatencias.indice(maior));
+            anterior = maior;
+        }
+    }
+
+    @Test
+    public void testSomarIgualAGravarTudo(){
+        HistogramaLatencias tudo = new HistogramaLatencias();
+        HistogramaLatencias soma = new HistogramaLatencias();
+        for (int thread = 0; thread < 4; thread++) {
+            HistogramaLatencias daThread = new HistogramaLatencias();
+            for (long valor = thread; valor < 5_000_000_000L; valor = valor * 3 + 7) {
+                daThread.gravar(valor);
+                tudo.gravar(valor);
+            }
+            soma.somar(daThread);
+        }
+
+        Assertions.assertEquals(tudo.getTotal(), soma.getTotal());
+        Assertions.assertEquals(tudo.toString(), soma.toString());
+        for (double percentil = 0; percentil <= 100; percentil += 2.5) {
+            Assertions.assertEquals(tudo.getValorNoPercentil(percentil), soma.getValorNoPercentil(percentil));
+        }
+    }
+
+    @Test
+    public void testVazioForaDaFaixaELimpar(){
+        HistogramaLatencias histograma = new HistogramaLatencias();
+        Assertions.assertEquals(0, histograma.getValorNoPercentil(99));
+
+        histograma.gravar(-5);
+        histograma.gravar(Long.MAX_VALUE);
+        Assertions.assertEquals(0, histograma.getValorNoPercentil(50));
+        // acima do rastreavel conta na ultima faixa, mas o maximo fica exato
+        Assertions.assertEquals(Long.MAX_VALUE, histograma.getMaximo());
+        Assertions.assertTrue(histograma.getValorNoPercentil(100) >= HistogramaLatencias.MAXIMO_RASTREAVEL);
+
+        histograma.limpar();
+        Assertions.assertEquals(0, histograma.getTotal());
+        Assertions.assertEquals(0, histograma.getMaximo());
+    }
+}
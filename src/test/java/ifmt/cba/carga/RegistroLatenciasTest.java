@@ -0,0 +1,66 @@
+package ifmt.cba.carga;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.client.ApiRestauranteException;
+import ifmt.cba.client.ClienteRestaurante;
+import ifmt.cba.client.ConfiguracaoCliente;
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class RegistroLatenciasTest {
+
+    @Test
+    public void testEndpoint(){
+        Assertions.assertEquals("/pedido/", RegistroLatencias.endpoint("/pedido/"));
+        Assertions.assertEquals("/preparo/codigo/{codigo}", RegistroLatencias.endpoint("/preparo/codigo/31"));
+        Assertions.assertEquals("/pedido/cliente/{codigo}/", RegistroLatencias.endpoint("/pedido/cliente/7/"));
+        Assertions.assertEquals("/ordemproducao/processar", RegistroLatencias.endpoint("/ordemproducao/processar"));
+    }
+
+    @Test
+    public void testPrimeiraRequisicaoContaDoInicioAgendado() throws Exception {
+        RegistroLatencias registro = new RegistroLatencias();
+        long agora = System.nanoTime();
+
+        registro.agendado(agora - 500_000_000, () -> {
+            registro.requisicao("GET", "/bairro/codigo/1", agora, agora + 1_000_000);
+            registro.requisicao("PUT", "/bairro/", agora + 1_000_000, agora + 3_000_000);
+            return null;
+        }).call();
+        // fora de um fluxo agendado conta do envio
+        registro.requisicao("GET", "/bairro/codigo/2", agora, agora + 1_000_000);
+
+        Map<String, HistogramaLatencias> porEndpoint = registro.getPorEndpoint();
+        HistogramaLatencias consulta = porEndpoint.get("GET /bairro/codigo/{codigo}");
+        Assertions.assertEquals(2, consulta.getTotal());
+        Assertions.assertTrue(consulta.getMaximo() >= 501_000_000, consulta.toString());
+        Assertions.assertTrue(consulta.getValorNoPercentil(50) < 2_000_000, consulta.toString());
+        Assertions.assertTrue(porEndpoint.get("PUT /bairro/").getMaximo() < 3_000_000);
+    }
+
+    @Test
+    public void testObservadorDoCliente(){
+        RegistroLatencias registro = new RegistroLatencias();
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setObservador(registro);
+
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/bairro/codigo/1", 200, "{\"codigo\":1,\"nome\":\"Centro\"}")
+                .json("/bairro/codigo/2", 404, "{\"texto\":\"Bairro nao encontrado\"}")
+                .json("/bairro/", 200, "{\"codigo\":1}")) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl(), configuracao);
+            api.bairros().porCodigo(1);
+            api.bairros().porCodigoAsync(1).join();
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.bairros().porCodigo(2));
+            api.bairros().incluir(new BairroDTO());
+
+            Map<String, HistogramaLatencias> porEndpoint = registro.getPorEndpoint();
+            Assertions.assertEquals(3, porEndpoint.get("GET /bairro/codigo/{codigo}").getTotal(), porEndpoint.toString());
+            Assertions.assertEquals(1, porEndpoint.get("POST /bairro/").getTotal(), porEndpoint.toString());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ifmt.cba.client;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.ProdutoDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class CacheNegativoTest {
+
+    private ServidorSimulado servidor() {
+        return new ServidorSimulado()
+            .json("/cliente/codigo/999", 404, "{\"texto\":\"Cliente nao encontrado\"}")
+            .json("/produto/codigo/999", 400, "{\"texto\":\"source cannot be null\"}")
+            .json("/produto/codigo/500", 500, "{\"texto\":\"Erro interno\"}")
+            .json("/produto", 200, "{\"codigo\":999,\"nome\":\"Arroz\"}");
+    }
+
+    private ClienteRestaurante cliente(ServidorSimulado servidor, Duration ttl) {
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setTtlNegativo(ClienteDTO.class, ttl);
+        configuracao.setTtlNegativo(ProdutoDTO.class, ttl);
+        return new ClienteRestaurante(servidor.getUrl(), configuracao);
+    }
+
+    @Test
+    public void testCodigoInexistenteRespondidoLocalmente() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = cliente(servidor, Duration.ofMinutes(1));
+
+            for (int i = 0; i < 5; i++) {
+                ApiRestauranteException erro = Assertions.assertThrows(ApiRestauranteException.class,
+                    () -> api.clientes().porCodigo(999));
+                Assertions.assertEquals(404, erro.getStatus());
+                Assertions.assertEquals("Cliente nao encontrado", erro.getTexto());
+            }
+            CompletionException erroAsync = Assertions.assertThrows(CompletionException.class,
+                () -> api.produtos().porCodigoAsync(999).join());
+            Assertions.assertEquals(400, ((ApiRestauranteException) erroAsync.getCause()).getStatus());
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(999));
+
+            Assertions.assertEquals(1, servidor.requisicoes("GET /cliente/codigo/999"));
+            Assertions.assertEquals(1, servidor.requisicoes("GET /produto/codigo/999"));
+            Assertions.assertEquals(5, api.getAcertosCacheNegativo());
+        }
+    }
+
+    @Test
+    public void testErroDeServidorNaoEhLembrado() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = cliente(servidor, Duration.ofMinutes(1));
+
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(500));
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(500));
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/500"));
+        }
+    }
+
+    @Test
+    public void testTtlVencidoConsultaDeNovo() throws InterruptedException {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = cliente(servidor, Duration.ofMillis(20));
+
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+            Thread.sleep(50);
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cliente/codigo/999"));
+        }
+    }
+
+    @Test
+    public void testInclusaoEsqueceCodigoAusente() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = cliente(servidor, Duration.ofMinutes(1));
+
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(999));
+            api.produtos().incluir(new ProdutoDTO());
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(999));
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/999"));
+        }
+    }
+
+    @Test
+    public void testInclusaoSemCorpoEsqueceAusentesDoRecurso() {
+        try (ServidorSimulado servidor = servidor().json("/cliente/", 204, "")) {
+            ClienteRestaurante api = cliente(servidor, Duration.ofMinutes(1));
+
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(999));
+            Assertions.assertNull(api.clientes().incluir(new ClienteDTO()));
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.produtos().porCodigo(999));
+
+            // so os ausentes do recurso incluido sao esquecidos
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cliente/codigo/999"));
+            Assertions.assertEquals(1, servidor.requisicoes("GET /produto/codigo/999"));
+        }
+    }
+
+    @Test
+    public void testTipoSemTtlNegativoSempreConsulta() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = cliente(servidor, null);
+
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+            Assertions.assertThrows(ApiRestauranteException.class, () -> api.clientes().porCodigo(999));
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cliente/codigo/999"));
+            Assertions.assertEquals(0, api.getAcertosCacheNegativo());
+        }
+    }
+}
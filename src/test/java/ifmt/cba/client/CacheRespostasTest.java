@@ -0,0 +1,466 @@
+package ifmt.cba.client;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpHandler;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.dto.CardapioDTO;
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.GrupoAlimentarDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+import ifmt.cba.dto.RegistroEstoqueDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class CacheRespostasTest {
+
+    private final AtomicInteger naoModificados = new AtomicInteger();
+
+    /** Responde com ETag e devolve 304 quando o cliente ja tem a versao atual. */
+    private ServidorSimulado servidorComEtag() {
+        return new ServidorSimulado()
+            .rota("/bairro/codigo/", troca -> {
+                String codigo = troca.getRequestURI().getPath().substring("/bairro/codigo/".length());
+                String etag = "\"bairro-" + codigo + "-v1\"";
+                troca.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(troca.getRequestHeaders().getFirst("If-None-Match"))) {
+                    naoModificados.incrementAndGet();
+                    ServidorSimulado.responder(troca, 304, "");
+                } else {
+                    ServidorSimulado.responder(troca, 200,
+                        "{\"codigo\":" + codigo + ",\"nome\":\"Centro\",\"custoEntrega\":7.0}");
+                }
+            })
+            .json("/grupoalimentar/codigo/1", 200, "{\"codigo\":1,\"nome\":\"Carboidrato\"}")
+            .json("/cliente/codigo/1", 200, "{\"codigo\":1,\"nome\":\"Cliente 01\"}");
+    }
+
+    private ClienteRestaurante clienteComCache(ServidorSimulado servidor, Duration ttl, int tamanhoMaximo) {
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setTtlCache(BairroDTO.class, ttl);
+        configuracao.setTtlCache(GrupoAlimentarDTO.class, ttl);
+        configuracao.setTamanhoMaximoCache(tamanhoMaximo);
+        return new ClienteRestaurante(servidor.getUrl(), configuracao);
+    }
+
+    @Test
+    public void testConsultaDentroDoTtlNaoVaiAoServidor() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+
+            for (int i = 0; i < 5; i++) {
+                Assertions.assertEquals("Centro", api.bairros().porCodigo(1).getNome());
+                Assertions.assertEquals("Carboidrato", api.gruposAlimentares().porCodigoAsync(1).join().getNome());
+            }
+
+            Assertions.assertEquals(1, servidor.requisicoes("GET /bairro/codigo/1"));
+            Assertions.assertEquals(1, servidor.requisicoes("GET /grupoalimentar/codigo/1"));
+        }
+    }
+
+    @Test
+    public void testTtlVencidoRevalidaComEtag() throws InterruptedException {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMillis(20), 100);
+
+            api.bairros().porCodigo(1);
+            Thread.sleep(50);
+            BairroDTO bairroDTO = api.bairros().porCodigo(1);
+
+            Assertions.assertEquals("Centro", bairroDTO.getNome());
+            Assertions.assertEquals(7.0F, bairroDTO.getCustoEntrega());
+            Assertions.assertEquals(2, servidor.requisicoes("GET /bairro/codigo/1"));
+            Assertions.assertEquals(1, naoModificados.get());
+        }
+    }
+
+    @Test
+    public void testAlterarODtoBuscadoNaoAlteraOCache() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+
+            // a primeira busca reaproveita o DTO decodificado para as dependencias
+            api.bairros().porCodigo(1).setNome("Alterado");
+            api.gruposAlimentares().porCodigoAsync(1).join().setNome("Alterado");
+
+            Assertions.assertEquals("Centro", api.bairros().porCodigo(1).getNome());
+            Assertions.assertEquals("Carboidrato", api.gruposAlimentares().porCodigoAsync(1).join().getNome());
+            Assertions.assertEquals(1, servidor.requisicoes("GET /bairro/codigo/1"));
+        }
+    }
+
+    @Test
+    public void testNaoModificadoForaDaRevalidacaoEhErro() {
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/bairro/codigo/1", 304, "")
+                .json("/bairro/", 304, "")) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+            ClienteRestaurante semCache = new ClienteRestaurante(servidor.getUrl());
+
+            // sem If-None-Match enviado, um 304 nao tem corpo a reaproveitar
+            for (ClienteRestaurante cliente : List.of(api, semCache)) {
+                Assertions.assertEquals(304,
+                    Assertions.assertThrows(ApiRestauranteException.class, () -> cliente.bairros().porCodigo(1)).getStatus());
+                Assertions.assertEquals(304,
+                    Assertions.assertThrows(ApiRestauranteException.class, () -> cliente.bairros().incluir(new BairroDTO())).getStatus());
+            }
+            Assertions.assertEquals(0, api.getEstatisticasCache().getTamanho());
+        }
+    }
+
+    @Test
+    public void testTamanhoLimitado() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 2);
+
+            for (int codigo = 1; codigo <= 10; codigo++) {
+                api.bairros().porCodigo(codigo);
+            }
+
+            Assertions.assertTrue(api.getEstatisticasCache().getTamanho() <= 2);
+            Assertions.assertEquals(8, api.getEstatisticasCache().getRemocoes());
+        }
+    }
+
+    @Test
+    public void testVarreduraNaoExpulsaEntradasFrequentes() {
+        CacheRespostas cache = new CacheRespostas(100);
+        EntradaCache entrada = new EntradaCache("{}", null, null, System.nanoTime() + Duration.ofMinutes(10).toNanos());
+
+        for (int rodada = 0; rodada < 5; rodada++) {
+            for (int codigo = 0; codigo < 50; codigo++) {
+                if (cache.buscar("/preparo/codigo/" + codigo) == null) {
+                    cache.guardar("/preparo/codigo/" + codigo, entrada);
+                }
+            }
+        }
+        for (int codigo = 0; codigo < 10_000; codigo++) {
+            if (cache.buscar("/produto/codigo/" + codigo) == null) {
+                cache.guardar("/produto/codigo/" + codigo, entrada);
+            }
+        }
+
+        int frequentesPresentes = 0;
+        for (int codigo = 0; codigo < 50; codigo++) {
+            if (cache.buscar("/preparo/codigo/" + codigo) != null) {
+                frequentesPresentes++;
+            }
+        }
+        Assertions.assertTrue(frequentesPresentes >= 45, "preparos frequentes no cache: " + frequentesPresentes);
+        Assertions.assertTrue(cache.tamanho() <= 100);
+    }
+
+    @Test
+    public void testEstatisticas() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+
+            api.bairros().porCodigo(1);
+            api.bairros().porCodigo(1);
+            api.bairros().porCodigo(1);
+            api.bairros().porCodigo(2);
+
+            EstatisticasCache estatisticas = api.getEstatisticasCache();
+            Assertions.assertEquals(2, estatisticas.getAcertos());
+            Assertions.assertEquals(2, estatisticas.getFalhas());
+            Assertions.assertEquals(0.5, estatisticas.getTaxaAcerto());
+            Assertions.assertEquals(2, estatisticas.getTamanho());
+        }
+    }
+
+    @Test
+    public void testAlteracaoInvalidaPreparoEmCache() {
+        String preparo = "{\"codigo\":3,\"nome\":\"Costela suina no forno\",\"valorPreparo\":3.0}";
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/preparo/codigo/3", 200, preparo)
+                .json("/preparo/", 200, preparo)) {
+            ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+            configuracao.setTtlCache(PreparoProdutoDTO.class, Duration.ofMinutes(10));
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl(), configuracao);
+
+            PreparoProdutoDTO preparoProdutoDTO = api.preparos().porCodigo(3);
+            api.preparos().porCodigo(3);
+            api.preparos().alterar(preparoProdutoDTO);
+            api.preparos().porCodigo(3);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /preparo/codigo/3"));
+            Assertions.assertEquals(1, api.getEstatisticasCache().getInvalidacoes());
+        }
+    }
+
+    @Test
+    public void testAlterarDtoDevolvidoNaoAfetaCache() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+
+            api.bairros().porCodigo(1).setNome("Alterado");
+
+            Assertions.assertEquals("Centro", api.bairros().porCodigo(1).getNome());
+        }
+    }
+
+    @Test
+    public void testTipoSemTtlNaoUsaCache() {
+        try (ServidorSimulado servidor = servidorComEtag()) {
+            ClienteRestaurante api = clienteComCache(servidor, Duration.ofMinutes(10), 100);
+
+            ClienteDTO primeiro = api.clientes().porCodigo(1);
+            api.clientes().porCodigo(1);
+
+            Assertions.assertEquals("Cliente 01", primeiro.getNome());
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cliente/codigo/1"));
+        }
+    }
+
+    private static final String PRODUTO = "{\"codigo\":5,\"nome\":\"Arroz Branco\",\"grupoAlimentar\":{\"codigo\":1}}";
+    private static final String PREPARO = "{\"codigo\":1,\"nome\":\"Arroz Cozido\",\"produto\":" + PRODUTO
+        + ",\"tipoPreparo\":{\"codigo\":2}}";
+
+    private ServidorSimulado servidorCatalogo() {
+        return new ServidorSimulado()
+            .json("/produto/codigo/5", 200, PRODUTO)
+            .json("/produto/codigo/4", 200, "{\"codigo\":4,\"nome\":\"Batata Doce\"}")
+            .json("/preparo/codigo/1", 200, PREPARO)
+            .json("/cardapio/codigo/1", 200, "{\"codigo\":1,\"listaPreparoProduto\":[" + PREPARO + "]}")
+            .json("/produto/", 200, PRODUTO)
+            .json("/tipopreparo/", 204, "")
+            .json("/estoque/", 200, "{\"codigo\":10,\"produto\":" + PRODUTO + ",\"quantidade\":100}");
+    }
+
+    private ClienteRestaurante clienteCatalogo(ServidorSimulado servidor) {
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setTtlCache(ProdutoDTO.class, Duration.ofMinutes(10));
+        configuracao.setTtlCache(PreparoProdutoDTO.class, Duration.ofMinutes(10));
+        configuracao.setTtlCache(CardapioDTO.class, Duration.ofMinutes(10));
+        return new ClienteRestaurante(servidor.getUrl(), configuracao);
+    }
+
+    private void consultarCatalogo(ClienteRestaurante api) {
+        api.produtos().porCodigo(5);
+        api.produtos().porCodigo(4);
+        api.preparos().porCodigo(1);
+        api.cardapios().porCodigo(1);
+    }
+
+    @Test
+    public void testAlterarProdutoInvalidaPreparosECardapiosQueOEmbutem() {
+        try (ServidorSimulado servidor = servidorCatalogo()) {
+            ClienteRestaurante api = clienteCatalogo(servidor);
+
+            consultarCatalogo(api);
+            api.produtos().alterar(api.produtos().porCodigo(5));
+            consultarCatalogo(api);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/5"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /preparo/codigo/1"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cardapio/codigo/1"));
+            Assertions.assertEquals(1, servidor.requisicoes("GET /produto/codigo/4"));
+        }
+    }
+
+    @Test
+    public void testExcluirTipoPreparoNaoCacheadoInvalidaPreparo() {
+        try (ServidorSimulado servidor = servidorCatalogo()) {
+            ClienteRestaurante api = clienteCatalogo(servidor);
+
+            consultarCatalogo(api);
+            api.tiposPreparo().excluir(2);
+            consultarCatalogo(api);
+
+            Assertions.assertEquals(1, servidor.requisicoes("GET /produto/codigo/5"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /preparo/codigo/1"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cardapio/codigo/1"));
+        }
+    }
+
+    @Test
+    public void testRegistroDeEstoqueInvalidaProduto() {
+        try (ServidorSimulado servidor = servidorCatalogo()) {
+            ClienteRestaurante api = clienteCatalogo(servidor);
+
+            consultarCatalogo(api);
+            RegistroEstoqueDTO registroEstoqueDTO = new RegistroEstoqueDTO();
+            registroEstoqueDTO.setProduto(api.produtos().porCodigo(5));
+            registroEstoqueDTO.setData(LocalDate.now());
+            registroEstoqueDTO.setQuantidade(100);
+            api.estoque().incluir(registroEstoqueDTO);
+            consultarCatalogo(api);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/5"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cardapio/codigo/1"));
+            Assertions.assertEquals(1, servidor.requisicoes("GET /produto/codigo/4"));
+        }
+    }
+
+    @Test
+    public void testRegistroDeEstoqueComModeloInvalidaProduto() {
+        // resposta vazia: a invalidacao tem que vir do corpo enviado
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/produto/codigo/5", 200, PRODUTO)
+                .json("/estoque/", 204, "")) {
+            ClienteRestaurante api = clienteCatalogo(servidor);
+
+            RegistroEstoqueDTO prototipo = new RegistroEstoqueDTO();
+            prototipo.setProduto(api.produtos().porCodigo(5));
+            prototipo.setData(LocalDate.now());
+            prototipo.setQuantidade(1);
+            ModeloCorpo modelo = api.estoque().modelo(prototipo, "$.quantidade");
+            api.estoque().incluir(modelo.novoCorpo().inteiro(0, 100));
+            api.produtos().porCodigo(5);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/5"));
+        }
+    }
+
+    @Test
+    public void testRespostaEmVooDuranteAlteracaoNaoVoltaAoCache() throws InterruptedException {
+        // a primeira consulta de cada caminho demora; a alteracao chega ao servidor antes dela terminar
+        CountDownLatch alterado = new CountDownLatch(1);
+        AtomicInteger consultas = new AtomicInteger();
+        HttpHandler lento = troca -> {
+            String caminho = troca.getRequestURI().getPath();
+            if (consultas.incrementAndGet() <= 2) {
+                try {
+                    alterado.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            ServidorSimulado.responder(troca, 200, caminho.startsWith("/produto") ? PRODUTO : PREPARO);
+        };
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .rota("/produto/codigo/5", lento)
+                .rota("/preparo/codigo/1", lento)
+                .json("/produto/", 200, PRODUTO)) {
+            ClienteRestaurante api = clienteCatalogo(servidor);
+
+            CompletableFuture<ProdutoDTO> produto = api.produtos().porCodigoAsync(5);
+            CompletableFuture<PreparoProdutoDTO> preparo = api.preparos().porCodigoAsync(1);
+            while (consultas.get() < 2) {
+                Thread.sleep(5);
+            }
+            ProdutoDTO alteracao = new ProdutoDTO();
+            alteracao.setCodigo(5);
+            api.produtos().alterar(alteracao);
+            alterado.countDown();
+            produto.join();
+            preparo.join();
+            api.produtos().porCodigo(5);
+            api.preparos().porCodigo(1);
+
+            // as respostas anteriores a alteracao nao foram guardadas
+            Assertions.assertEquals(2, servidor.requisicoes("GET /produto/codigo/5"));
+            Assertions.assertEquals(2, servidor.requisicoes("GET /preparo/codigo/1"));
+        }
+    }
+
+    /** Cardapio cuja primeira resposta e imediata e as seguintes demoram {@code atraso} ms. */
+    private ServidorSimulado servidorCardapioLento(long atraso) {
+        AtomicInteger respostas = new AtomicInteger();
+        return new ServidorSimulado()
+            .rota("/cardapio/codigo/1", troca -> {
+                int versao = respostas.incrementAndGet();
+                if (versao > 1) {
+                    try {
+                        Thread.sleep(atraso);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                ServidorSimulado.responder(troca, 200, "{\"codigo\":1,\"nome\":\"Almoco v" + versao + "\"}");
+            });
+    }
+
+    private ClienteRestaurante clienteComRenovacao(ServidorSimulado servidor, Duration ttl, double fracao) {
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setTtlCache(CardapioDTO.class, ttl);
+        configuracao.setRenovacaoAntecipada(fracao);
+        return new ClienteRestaurante(servidor.getUrl(), configuracao);
+    }
+
+    @Test
+    public void testRenovacaoAntecipadaNaoBloqueiaLeitura() throws InterruptedException {
+        try (ServidorSimulado servidor = servidorCardapioLento(300)) {
+            ClienteRestaurante api = clienteComRenovacao(servidor, Duration.ofSeconds(2), 0.1);
+
+            api.cardapios().porCodigo(1);
+            Thread.sleep(300);
+            long inicio = System.nanoTime();
+            CardapioDTO cardapioDTO = api.cardapios().porCodigo(1);
+            api.cardapios().porCodigo(1);
+            long decorrido = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+            Assertions.assertEquals("Almoco v1", cardapioDTO.getNome());
+            Assertions.assertTrue(decorrido < 200, "leitura esperou a recarga: " + decorrido + " ms");
+            for (int i = 0; i < 50 && !"Almoco v2".equals(api.cardapios().porCodigo(1).getNome()); i++) {
+                Thread.sleep(20);
+            }
+            Assertions.assertEquals("Almoco v2", api.cardapios().porCodigo(1).getNome());
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cardapio/codigo/1"));
+        }
+    }
+
+    @Test
+    public void testTtlVencidoSoUmChamadorRecarrega() throws InterruptedException {
+        try (ServidorSimulado servidor = servidorCardapioLento(300)) {
+            ClienteRestaurante api = clienteComRenovacao(servidor, Duration.ofMillis(50), 0.9);
+
+            api.cardapios().porCodigo(1);
+            Thread.sleep(100);
+            List<CompletableFuture<CardapioDTO>> leituras = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                leituras.add(CompletableFuture.supplyAsync(() -> api.cardapios().porCodigo(1)));
+                leituras.add(api.cardapios().porCodigoAsync(1));
+            }
+            leituras.forEach(CompletableFuture::join);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cardapio/codigo/1"));
+        }
+    }
+
+    @Test
+    public void testRenovacaoEmSegundoPlanoNaoDesfazInvalidacao() throws InterruptedException {
+        // a partir da segunda consulta o servidor demora e responde 304 a quem tem a ETag
+        CountDownLatch invalidado = new CountDownLatch(1);
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .rota("/cardapio/codigo/1", troca -> {
+                    troca.getResponseHeaders().set("ETag", "\"cardapio-1\"");
+                    if (troca.getRequestHeaders().getFirst("If-None-Match") != null) {
+                        try {
+                            invalidado.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        ServidorSimulado.responder(troca, 304, "");
+                    } else {
+                        ServidorSimulado.responder(troca, 200, "{\"codigo\":1,\"nome\":\"Almoco\"}");
+                    }
+                })) {
+            ClienteRestaurante api = clienteComRenovacao(servidor, Duration.ofSeconds(5), 0.01);
+
+            api.cardapios().porCodigo(1);
+            Thread.sleep(100);
+            api.cardapios().porCodigo(1);
+            while (servidor.requisicoes("GET /cardapio/codigo/1") < 2) {
+                Thread.sleep(5);
+            }
+            api.cardapios().invalidar(1);
+            invalidado.countDown();
+            Thread.sleep(200);
+            api.cardapios().porCodigo(1);
+
+            // o 304 da recarga nao devolveu ao cache a entrada invalidada
+            Assertions.assertEquals(3, servidor.requisicoes("GET /cardapio/codigo/1"));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ifmt.cba.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class ColapsadorRequisicoesTest {
+
+    private static final int CHAMADORES = 50;
+
+    private ClienteRestaurante clienteColapsando(ServidorSimulado servidor) {
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setColapsarRequisicoes(true);
+        return new ClienteRestaurante(servidor.getUrl(), configuracao);
+    }
+
+    private void esperarColapsadas(ClienteRestaurante api, long quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (api.getRequisicoesColapsadas() < quantidade && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testGetsConcorrentesViramUmaRequisicao() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .rota("/cliente/codigo/1", troca -> {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    ServidorSimulado.responder(troca, 200, "{\"codigo\":1,\"nome\":\"Cliente 01\"}");
+                });
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            ClienteRestaurante api = clienteColapsando(servidor);
+            List<CompletableFuture<ClienteDTO>> chamadas = new ArrayList<>();
+            for (int i = 0; i < CHAMADORES; i++) {
+                chamadas.add(CompletableFuture.supplyAsync(() -> api.clientes().porCodigo(1), executor));
+            }
+            esperarColapsadas(api, CHAMADORES - 1);
+            liberar.countDown();
+
+            List<ClienteDTO> clientes = new ArrayList<>();
+            for (CompletableFuture<ClienteDTO> chamada : chamadas) {
+                clientes.add(chamada.get(10, TimeUnit.SECONDS));
+            }
+
+            Assertions.assertEquals(1, servidor.requisicoes("GET /cliente/codigo/1"));
+            Assertions.assertEquals(CHAMADORES - 1, api.getRequisicoesColapsadas());
+            Assertions.assertTrue(clientes.stream().allMatch(c -> "Cliente 01".equals(c.getNome())));
+            // cada chamador recebe a sua copia
+            Assertions.assertNotSame(clientes.get(0), clientes.get(1));
+        }
+    }
+
+    @Test
+    public void testErroChegaATodosOsChamadores() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .rota("/cliente/codigo/99", troca -> {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    ServidorSimulado.responder(troca, 400, "{\"texto\":\"source cannot be null\"}");
+                })) {
+
+            ClienteRestaurante api = clienteColapsando(servidor);
+            CompletableFuture<ClienteDTO> primeira = api.clientes().porCodigoAsync(99);
+            CompletableFuture<ClienteDTO> segunda = api.clientes().porCodigoAsync(99);
+            esperarColapsadas(api, 1);
+            liberar.countDown();
+
+            for (CompletableFuture<ClienteDTO> chamada : List.of(primeira, segunda)) {
+                Exception erro = Assertions.assertThrows(Exception.class, () -> chamada.get(10, TimeUnit.SECONDS));
+                Assertions.assertEquals(400, ((ApiRestauranteException) erro.getCause()).getStatus());
+            }
+            Assertions.assertEquals(1, servidor.requisicoes("GET /cliente/codigo/99"));
+        }
+    }
+
+    @Test
+    public void testRequisicoesSequenciaisNaoSaoColapsadas() {
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/cliente/codigo/1", 200, "{\"codigo\":1}")) {
+
+            ClienteRestaurante api = clienteColapsando(servidor);
+            api.clientes().porCodigo(1);
+            api.clientes().porCodigo(1);
+
+            Assertions.assertEquals(2, servidor.requisicoes("GET /cliente/codigo/1"));
+            Assertions.assertEquals(0, api.getRequisicoesColapsadas());
+        }
+    }
+
+    @Test
+    public void testFalhaAntesDoEnvioNaoPrendeAChave() throws Exception {
+        ColapsadorRequisicoes colapsador = new ColapsadorRequisicoes();
+        AtomicInteger enviadas = new AtomicInteger();
+
+        CompletableFuture<String> primeira = colapsador.executarAsync("/cliente/codigo/1", () -> {
+            throw new IllegalArgumentException("URI invalida");
+        });
+        Exception erro = Assertions.assertThrows(Exception.class, () -> primeira.get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, erro.getCause());
+
+        CompletableFuture<String> segunda = colapsador.executarAsync("/cliente/codigo/1", () -> {
+            enviadas.incrementAndGet();
+            return CompletableFuture.completedFuture("{\"codigo\":1}");
+        });
+        Assertions.assertEquals("{\"codigo\":1}", segunda.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, enviadas.get());
+        Assertions.assertEquals(0, colapsador.getColapsadas());
+    }
+
+    @Test
+    public void testErrorNoPrimeiroChamadorLiberaOsColapsados() throws Exception {
+        ColapsadorRequisicoes colapsador = new ColapsadorRequisicoes();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<String> primeiro = CompletableFuture.supplyAsync(() -> colapsador.executar("/cliente/codigo/1", () -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError("simulado");
+        }));
+        Thread.sleep(50);
+        CompletableFuture<String> colapsado = CompletableFuture.supplyAsync(
+            () -> colapsador.executar("/cliente/codigo/1", () -> "nao deveria executar"));
+        while (colapsador.getColapsadas() == 0) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+
+        for (CompletableFuture<String> chamada : List.of(primeiro, colapsado)) {
+            Exception erro = Assertions.assertThrows(Exception.class, () -> chamada.get(10, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(StackOverflowError.class, erro.getCause());
+        }
+        Assertions.assertThrows(StackOverflowError.class,
+            () -> colapsador.executarAsync("/cliente/codigo/2", () -> { throw new StackOverflowError("simulado"); }));
+        // nenhuma das chaves ficou presa
+        Assertions.assertEquals("{\"codigo\":1}", colapsador.executar("/cliente/codigo/1", () -> "{\"codigo\":1}"));
+        Assertions.assertEquals("{\"codigo\":2}", colapsador.executarAsync("/cliente/codigo/2",
+            () -> CompletableFuture.completedFuture("{\"codigo\":2}")).get(10, TimeUnit.SECONDS));
+    }
+}
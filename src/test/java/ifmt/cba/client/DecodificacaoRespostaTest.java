@@ -0,0 +1,57 @@
+package ifmt.cba.client;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class DecodificacaoRespostaTest {
+
+    private ServidorSimulado servidor() {
+        StringBuilder lista = new StringBuilder("[");
+        for (int i = 1; i <= 5_000; i++) {
+            lista.append(i > 1 ? "," : "").append("{\"codigo\":").append(i).append(",\"nome\":\"São Gonçalo ").append(i).append("\"}");
+        }
+        return new ServidorSimulado()
+            .json("/bairro/codigo/1", 200, "{\"codigo\":1,\"nome\":\"Coxipó da Ponte\",\"custoEntrega\":7.5}")
+            .json("/bairro/codigo/2", 404, "{\"texto\":\"Bairro não encontrado\"}")
+            .json("/bairro/nome/S", 200, lista.append("]").toString())
+            .json("/bairro", 200, "");
+    }
+
+    @Test
+    public void testDecodificaUtf8DoStreamEDosBytes() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+
+            Assertions.assertEquals("Coxipó da Ponte", api.bairros().porCodigo(1).getNome());
+            Assertions.assertEquals("Coxipó da Ponte", api.bairros().porCodigoAsync(1).join().getNome());
+
+            List<BairroDTO> bairros = api.bairros().porNome("S");
+            Assertions.assertEquals(5_000, bairros.size());
+            Assertions.assertEquals("São Gonçalo 5000", bairros.getLast().getNome());
+        }
+    }
+
+    @Test
+    public void testCorpoVazioEErro() {
+        try (ServidorSimulado servidor = servidor()) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+
+            Assertions.assertNull(api.bairros().incluir(new BairroDTO()));
+            Assertions.assertNull(api.bairros().incluirAsync(new BairroDTO()).join());
+
+            ApiRestauranteException erro = Assertions.assertThrows(ApiRestauranteException.class,
+                () -> api.bairros().porCodigo(2));
+            Assertions.assertEquals(404, erro.getStatus());
+            Assertions.assertEquals("Bairro não encontrado", erro.getTexto());
+            CompletionException erroAsync = Assertions.assertThrows(CompletionException.class,
+                () -> api.bairros().porCodigoAsync(2).join());
+            Assertions.assertEquals("Bairro não encontrado", ((ApiRestauranteException) erroAsync.getCause()).getTexto());
+        }
+    }
+}
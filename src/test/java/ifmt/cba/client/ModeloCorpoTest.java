@@ -0,0 +1,127 @@
+package ifmt.cba.client;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.OrdemProducaoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.utils.AmostrasDTO;
+import ifmt.cba.utils.FabricaGson;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class ModeloCorpoTest {
+
+    private final Gson gson = FabricaGson.getGson();
+
+    @Test
+    public void testPreencherIgualAoGson(){
+        PedidoDTO pedido = AmostrasDTO.pedido();
+        // a amostra repete a mesma instancia; aqui so o segundo item deve mudar
+        ItemPedidoDTO segundo = gson.fromJson(gson.toJson(pedido.getListaItens().get(1)), ItemPedidoDTO.class);
+        pedido.setListaItens(List.of(pedido.getListaItens().get(0), segundo));
+        ModeloCorpo modelo = ModeloCorpo.compilar(gson.toJson(pedido),
+            "$.horaPedido", "$.dataPedido", "$.listaItens[1].quantidadePorcao", "$.codigo");
+        ModeloCorpo.Corpo corpo = modelo.novoCorpo();
+
+        Assertions.assertEquals(gson.toJson(pedido), corpo.toString());
+
+        int[] quantidades = {0, 7, -42, 1_000_000, Integer.MIN_VALUE};
+        for (int i = 0; i < quantidades.length; i++) {
+            pedido.setCodigo(i * 1000);
+            pedido.setDataPedido(LocalDate.of(2024, 12, 31).plusDays(i));
+            pedido.setHoraPedido(LocalTime.of(9, 5, i, 7_000_000 * i));
+            segundo.setQuantidadePorcao(quantidades[i]);
+            corpo.hora(0, pedido.getHoraPedido())
+                .data(1, pedido.getDataPedido())
+                .inteiro(2, quantidades[i])
+                .inteiro(3, pedido.getCodigo());
+
+            String esperado = gson.toJson(pedido);
+            Assertions.assertEquals(esperado, corpo.toString());
+            Assertions.assertArrayEquals(esperado.getBytes(StandardCharsets.UTF_8), corpo.toByteArray());
+        }
+
+        corpo.original(3);
+        Assertions.assertTrue(corpo.toString().startsWith("{\"codigo\":77,"), corpo.toString());
+    }
+
+    @Test
+    public void testOrdemProducao(){
+        OrdemProducaoDTO ordem = AmostrasDTO.ordemProducao();
+        ModeloCorpo modelo = ModeloCorpo.compilar(gson.toJson(ordem),
+            "$.dataProducao", "$.listaItens[0].quantidadePorcao");
+
+        ordem.setDataProducao(LocalDate.of(2025, 1, 2));
+        ordem.getListaItens().get(0).setQuantidadePorcao(125);
+        String corpo = modelo.novoCorpo().data(0, LocalDate.of(2025, 1, 2)).inteiro(1, 125).toString();
+
+        Assertions.assertEquals(gson.toJson(ordem), corpo);
+        Assertions.assertEquals(ordem.toString(), gson.fromJson(corpo, OrdemProducaoDTO.class).toString());
+    }
+
+    @Test
+    public void testVagaInvalida(){
+        String json = gson.toJson(AmostrasDTO.pedido());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ModeloCorpo.compilar(json, "$.inexistente"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ModeloCorpo.compilar(json, "$.cliente"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ModeloCorpo.compilar(json, "$.listaItens[2].codigo"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ModeloCorpo.compilar(json, "$.codigo", "$.dataPedido", "$.codigo"));
+    }
+
+    @Test
+    public void testVagaDeOutroTipo(){
+        PedidoDTO pedido = AmostrasDTO.pedido();
+        String json = gson.toJson(pedido);
+        ModeloCorpo.Corpo corpo = ModeloCorpo.compilar(json, "$.codigo", "$.dataPedido", "$.horaPedido").novoCorpo();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> corpo.inteiro(1, 5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> corpo.data(0, LocalDate.of(2024, 1, 1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> corpo.hora(0, LocalTime.NOON));
+        // a tentativa recusada nao altera o corpo
+        Assertions.assertEquals(json, corpo.toString());
+
+        corpo.data(1, LocalDate.of(2024, 1, 1)).hora(2, LocalTime.NOON).inteiro(0, 9);
+        pedido.setCodigo(9);
+        pedido.setDataPedido(LocalDate.of(2024, 1, 1));
+        pedido.setHoraPedido(LocalTime.NOON);
+        Assertions.assertEquals(gson.toJson(pedido), corpo.toString());
+    }
+
+    @Test
+    public void testIncluirComModelo(){
+        AtomicReference<String> recebido = new AtomicReference<>();
+        try (ServidorSimulado servidor = new ServidorSimulado().rota("/pedido", troca -> {
+            recebido.set(new String(troca.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            ServidorSimulado.responder(troca, 200, recebido.get().replace("\"codigo\":0,", "\"codigo\":501,"));
+        })) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+            PedidoDTO prototipo = AmostrasDTO.pedido();
+            prototipo.setCodigo(0);
+            ModeloCorpo modelo = api.pedidos().modelo(prototipo, "$.dataPedido", "$.listaItens[0].quantidadePorcao");
+            ModeloCorpo.Corpo corpo = modelo.novoCorpo();
+
+            for (int quantidade = 1; quantidade <= 3; quantidade++) {
+                PedidoDTO incluido = api.pedidos().incluir(corpo
+                    .data(0, LocalDate.of(2024, 6, quantidade))
+                    .inteiro(1, quantidade));
+
+                Assertions.assertEquals(501, incluido.getCodigo());
+                Assertions.assertEquals(LocalDate.of(2024, 6, quantidade), incluido.getDataPedido());
+                Assertions.assertEquals(quantidade, incluido.getListaItens().get(0).getQuantidadePorcao());
+                Assertions.assertEquals(corpo.toString(), recebido.get());
+            }
+            Assertions.assertEquals(3, servidor.requisicoes("POST /pedido/"));
+        }
+    }
+}
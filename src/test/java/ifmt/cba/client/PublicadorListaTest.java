@@ -0,0 +1,184 @@
+package ifmt.cba.client;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.utils.ServidorSimulado;
+
+public class PublicadorListaTest {
+
+    private static final int TOTAL = 50_000;
+
+    private ServidorSimulado servidorComPedidos() {
+        return new ServidorSimulado()
+            .rota("/pedido/estado", troca -> {
+                troca.sendResponseHeaders(200, 0);
+                try (OutputStream saida = troca.getResponseBody()) {
+                    saida.write('[');
+                    for (int i = 1; i <= TOTAL; i++) {
+                        String pedido = (i > 1 ? "," : "") + "{\"codigo\":" + i
+                            + ",\"dataPedido\":\"2024-09-06\",\"horaPedido\":\"12:30:00\",\"estado\":\"REGISTRADO\"}";
+                        saida.write(pedido.getBytes(StandardCharsets.UTF_8));
+                    }
+                    saida.write(']');
+                }
+            })
+            .json("/pedido/dataproducao", 400, "{\"texto\":\"Data invalida\"}");
+    }
+
+    @Test
+    public void testEntregarTodosOsElementosUmPorUm() throws Exception {
+        try (ServidorSimulado servidor = servidorComPedidos()) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+            Assinante assinante = new Assinante(Long.MAX_VALUE);
+
+            api.pedidos().fluxoPorEstado(EstadoPedidoDTO.REGISTRADO).subscribe(assinante);
+
+            Assertions.assertEquals(TOTAL, assinante.fim.get(30, TimeUnit.SECONDS));
+            Assertions.assertEquals(TOTAL, assinante.ultimo.getCodigo());
+            Assertions.assertEquals(LocalDate.of(2024, 9, 6), assinante.ultimo.getDataPedido());
+        }
+    }
+
+    @Test
+    public void testCancelarNoMeioDoArray() throws Exception {
+        try (ServidorSimulado servidor = servidorComPedidos()) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+            Assinante assinante = new Assinante(10);
+
+            api.pedidos().fluxoPorEstado(EstadoPedidoDTO.REGISTRADO).subscribe(assinante);
+
+            Assertions.assertEquals(10, assinante.fim.get(30, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            Assertions.assertEquals(10, assinante.recebidos.get());
+        }
+    }
+
+    @Test
+    public void testErroDoServidorViraOnError() throws Exception {
+        try (ServidorSimulado servidor = servidorComPedidos()) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+            Assinante assinante = new Assinante(Long.MAX_VALUE);
+
+            api.pedidos().fluxoPorDataProducao(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 29)).subscribe(assinante);
+
+            Exception erro = Assertions.assertThrows(Exception.class, () -> assinante.fim.get(30, TimeUnit.SECONDS));
+            ApiRestauranteException causa = (ApiRestauranteException) erro.getCause();
+            Assertions.assertEquals(400, causa.getStatus());
+            Assertions.assertEquals("Data invalida", causa.getTexto());
+        }
+    }
+
+    @Test
+    public void testCompletarNoPedidoSeguinteAoTamanho() throws Exception {
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .json("/pedido/estado", 200, "[{\"codigo\":1},{\"codigo\":2},{\"codigo\":3}]")) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl());
+            Assinante assinante = new Assinante(Long.MAX_VALUE, 3);
+
+            api.pedidos().fluxoPorEstado(EstadoPedidoDTO.REGISTRADO).subscribe(assinante);
+            while (assinante.recebidos.get() < 3) {
+                Thread.sleep(5);
+            }
+            // com a demanda esgotada o fim do array ainda nao foi lido
+            Assertions.assertFalse(assinante.fim.isDone());
+            assinante.assinatura.request(1);
+
+            Assertions.assertEquals(3, assinante.fim.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testCancelarSemDemandaFechaOStream() throws Exception {
+        // manda um elemento e so termina o array quando o teste libera
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch fechado = new CountDownLatch(1);
+        ConfiguracaoCliente configuracao = new ConfiguracaoCliente();
+        configuracao.setObservador((metodo, caminho, inicio, fim) -> fechado.countDown());
+        try (ServidorSimulado servidor = new ServidorSimulado()
+                .rota("/pedido/estado", troca -> {
+                    troca.sendResponseHeaders(200, 0);
+                    try (OutputStream saida = troca.getResponseBody()) {
+                        saida.write("[{\"codigo\":1}".getBytes(StandardCharsets.UTF_8));
+                        saida.flush();
+                        liberar.await();
+                        saida.write(']');
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })) {
+            ClienteRestaurante api = new ClienteRestaurante(servidor.getUrl(), configuracao);
+            Assinante assinante = new Assinante(Long.MAX_VALUE, 1);
+
+            api.pedidos().fluxoPorEstado(EstadoPedidoDTO.REGISTRADO).subscribe(assinante);
+            while (assinante.recebidos.get() < 1) {
+                Thread.sleep(5);
+            }
+            assinante.assinatura.cancel();
+
+            Assertions.assertTrue(fechado.await(5, TimeUnit.SECONDS), "stream continuou aberto apos o cancel");
+            liberar.countDown();
+        }
+    }
+
+    /**
+     * Pede um elemento por vez e cancela depois de {@code limite} elementos; com
+     * {@code pedidoInicial > 1}, pede tudo de uma vez e nao pede mais.
+     */
+    private static class Assinante implements Flow.Subscriber<PedidoDTO> {
+
+        final long limite;
+        final long pedidoInicial;
+        final AtomicInteger recebidos = new AtomicInteger();
+        final CompletableFuture<Integer> fim = new CompletableFuture<>();
+        volatile Flow.Subscription assinatura;
+        PedidoDTO ultimo;
+
+        Assinante(long limite) {
+            this(limite, 0);
+        }
+
+        Assinante(long limite, long pedidoInicial) {
+            this.limite = limite;
+            this.pedidoInicial = pedidoInicial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription assinatura) {
+            this.assinatura = assinatura;
+            assinatura.request(Math.max(1, pedidoInicial));
+        }
+
+        @Override
+        public void onNext(PedidoDTO pedido) {
+            ultimo = pedido;
+            if (recebidos.incrementAndGet() == limite) {
+                assinatura.cancel();
+                fim.complete(recebidos.get());
+            } else if (pedidoInicial == 0) {
+                assinatura.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            fim.completeExceptionally(erro);
+        }
+
+        @Override
+        public void onComplete() {
+            fim.complete(recebidos.get());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ifmt.cba.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.utils.AmostrasDTO;
+
+public class TextosDTOTest {
+
+    /** Os objetos e todos os DTOs alcancaveis a partir deles. */
+    private static List<Object> comAninhados(List<Object> raizes) {
+        List<Object> todos = new ArrayList<>();
+        for (Object raiz : raizes) {
+            adicionar(todos, raiz);
+        }
+        return todos;
+    }
+
+    private static void adicionar(List<Object> todos, Object dto) {
+        if (dto == null) {
+            return;
+        }
+        todos.add(dto);
+        if (dto instanceof PedidoDTO pedidoDTO) {
+            adicionar(todos, pedidoDTO.getCliente());
+            adicionar(todos, pedidoDTO.getEntregador());
+            pedidoDTO.getListaItens().forEach(item -> adicionar(todos, item));
+        } else if (dto instanceof ClienteDTO clienteDTO) {
+            adicionar(todos, clienteDTO.getBairro());
+        } else if (dto instanceof ItemPedidoDTO itemPedidoDTO) {
+            adicionar(todos, itemPedidoDTO.getPreparoProduto());
+        } else if (dto instanceof ItemOrdemProducaoDTO itemOrdemProducaoDTO) {
+            adicionar(todos, itemOrdemProducaoDTO.getPreparoProduto());
+        } else if (dto instanceof PreparoProdutoDTO preparoProdutoDTO) {
+            adicionar(todos, preparoProdutoDTO.getProduto());
+            adicionar(todos, preparoProdutoDTO.getTipoPreparo());
+        } else if (dto instanceof ProdutoDTO produtoDTO) {
+            adicionar(todos, produtoDTO.getGrupoAlimentar());
+        } else if (dto instanceof OrdemProducaoDTO ordemProducaoDTO) {
+            adicionar(todos, ordemProducaoDTO.getCardapio());
+            ordemProducaoDTO.getListaItens().forEach(item -> adicionar(todos, item));
+        } else if (dto instanceof CardapioDTO cardapioDTO) {
+            cardapioDTO.getListaPreparoProduto().forEach(preparo -> adicionar(todos, preparo));
+        } else if (dto instanceof RegistroEstoqueDTO registroEstoqueDTO) {
+            adicionar(todos, registroEstoqueDTO.getProduto());
+        }
+    }
+
+    @Test
+    public void testMesmoTextoQueReflectionToString() {
+        List<Object> dtos = comAninhados(AmostrasDTO.raizes());
+        Assertions.assertEquals(14, dtos.stream().map(Object::getClass).distinct().count());
+        for (Object dto : dtos) {
+            Assertions.assertEquals(ToStringBuilder.reflectionToString(dto, ToStringStyle.JSON_STYLE), dto.toString());
+        }
+    }
+
+    @Test
+    public void testDtoVazioEListaVazia() {
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        CardapioDTO cardapioDTO = new CardapioDTO();
+        cardapioDTO.setListaPreparoProduto(new ArrayList<>());
+        BairroDTO bairroDTO = new BairroDTO();
+        bairroDTO.setNome("\u0001\"São\\Benedito\" 🍲");
+
+        for (Object dto : List.of(pedidoDTO, cardapioDTO, bairroDTO, new TipoPreparoDTO())) {
+            Assertions.assertEquals(ToStringBuilder.reflectionToString(dto, ToStringStyle.JSON_STYLE), dto.toString());
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import com.google.gson.Gson;
 
 import ifmt.cba.dto.GrupoAlimentarDTO;
+import ifmt.cba.utils.FabricaGson;
 import io.restassured.RestAssured;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
@@ -60,7 +61,7 @@ public class GrupoAlimentarServicoTest3 {
         Response response = RestAssured.request(Method.GET, "http://localhost:8080/grupoalimentar/codigo/6");
         Assertions.assertEquals(200, response.getStatusCode());
 
-        Gson gson = new Gson();
+        Gson gson = FabricaGson.getGson();
         GrupoAlimentarDTO grupoAlimentarDTO = gson.fromJson(response.getBody().asString(), GrupoAlimentarDTO.class);
 
         grupoAlimentarDTO.setNome("TesteAlteracao: " + dataFormatada);
@@ -98,7 +99,7 @@ public class GrupoAlimentarServicoTest3 {
             .extract()
             .response();
     
-        Gson gson = new Gson();
+        Gson gson = FabricaGson.getGson();
         GrupoAlimentarDTO grupoAlimentarDTOTemp = gson.fromJson(response.getBody().asString(), GrupoAlimentarDTO.class);
 
         var id = grupoAlimentarDTOTemp.getCodigo();
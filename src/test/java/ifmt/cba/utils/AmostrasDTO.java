@@ -0,0 +1,144 @@
+package ifmt.cba.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.dto.CardapioDTO;
+import ifmt.cba.dto.ClienteDTO;
+import ifmt.cba.dto.ColaboradorDTO;
+import ifmt.cba.dto.EntregadorDTO;
+import ifmt.cba.dto.EstadoOrdemProducaoDTO;
+import ifmt.cba.dto.EstadoPedidoDTO;
+import ifmt.cba.dto.GrupoAlimentarDTO;
+import ifmt.cba.dto.ItemOrdemProducaoDTO;
+import ifmt.cba.dto.ItemPedidoDTO;
+import ifmt.cba.dto.MovimentoEstoqueDTO;
+import ifmt.cba.dto.OrdemProducaoDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.PreparoProdutoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+import ifmt.cba.dto.RegistroEstoqueDTO;
+import ifmt.cba.dto.TipoPreparoDTO;
+
+/** DTOs preenchidos, com todos os tipos de campo, para os testes de formato. */
+public final class AmostrasDTO {
+
+    private AmostrasDTO() {
+    }
+
+    public static PreparoProdutoDTO preparo() {
+        GrupoAlimentarDTO grupoAlimentarDTO = new GrupoAlimentarDTO();
+        grupoAlimentarDTO.setCodigo(2);
+        grupoAlimentarDTO.setNome("Proteina");
+        grupoAlimentarDTO.setLink("/grupoalimentar/codigo/2");
+
+        ProdutoDTO produtoDTO = new ProdutoDTO();
+        produtoDTO.setCodigo(5);
+        produtoDTO.setNome("Frango \"caipira\"");
+        produtoDTO.setCustoUnidade(0.1F);
+        produtoDTO.setValorEnergetico(239);
+        produtoDTO.setEstoque(40);
+        produtoDTO.setEstoqueMinimo(10);
+        produtoDTO.setGrupoAlimentar(grupoAlimentarDTO);
+
+        TipoPreparoDTO tipoPreparoDTO = new TipoPreparoDTO();
+        tipoPreparoDTO.setCodigo(1);
+        tipoPreparoDTO.setDescricao("Assado");
+
+        PreparoProdutoDTO preparoProdutoDTO = new PreparoProdutoDTO();
+        preparoProdutoDTO.setCodigo(3);
+        preparoProdutoDTO.setNome("Frango assado");
+        preparoProdutoDTO.setProduto(produtoDTO);
+        preparoProdutoDTO.setTipoPreparo(tipoPreparoDTO);
+        preparoProdutoDTO.setTempoPreparo(45);
+        preparoProdutoDTO.setValorPreparo(32.9F);
+        return preparoProdutoDTO;
+    }
+
+    public static PedidoDTO pedido() {
+        BairroDTO bairroDTO = new BairroDTO();
+        bairroDTO.setCodigo(1);
+        bairroDTO.setNome("Centro");
+        bairroDTO.setCustoEntrega(7.5F);
+
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setCodigo(1);
+        clienteDTO.setNome("Cliente 01");
+        clienteDTO.setRG("123456");
+        clienteDTO.setCPF("000.000.000-00");
+        clienteDTO.setTelefone("65 99999-0000");
+        clienteDTO.setLogradouro("Rua A");
+        clienteDTO.setNumero("10");
+        clienteDTO.setBairro(bairroDTO);
+        clienteDTO.setPontoReferencia("Perto da praca");
+
+        EntregadorDTO entregadorDTO = new EntregadorDTO();
+        entregadorDTO.setCodigo(1);
+        entregadorDTO.setNome("Entregador 01");
+        entregadorDTO.setCPF("111.111.111-11");
+
+        ItemPedidoDTO itemPedidoDTO = new ItemPedidoDTO();
+        itemPedidoDTO.setCodigo(9);
+        itemPedidoDTO.setPreparoProduto(preparo());
+        itemPedidoDTO.setQuantidadePorcao(2);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setCodigo(77);
+        pedidoDTO.setCliente(clienteDTO);
+        pedidoDTO.setDataPedido(LocalDate.of(2024, 5, 17));
+        pedidoDTO.setHoraPedido(LocalTime.of(11, 30, 5, 120_000_000));
+        pedidoDTO.setHoraProducao(LocalTime.of(11, 35));
+        pedidoDTO.setEstado(EstadoPedidoDTO.PRODUCAO);
+        pedidoDTO.setEntregador(entregadorDTO);
+        pedidoDTO.setListaItens(List.of(itemPedidoDTO, itemPedidoDTO));
+        pedidoDTO.setLink("/pedido/codigo/77");
+        return pedidoDTO;
+    }
+
+    public static OrdemProducaoDTO ordemProducao() {
+        CardapioDTO cardapioDTO = new CardapioDTO();
+        cardapioDTO.setCodigo(1);
+        cardapioDTO.setNome("Almoco");
+        cardapioDTO.setDescricao("Feijão/arroz\tdo dia\\\n");
+        cardapioDTO.setListaPreparoProduto(List.of(preparo()));
+
+        ItemOrdemProducaoDTO itemOrdemProducaoDTO = new ItemOrdemProducaoDTO();
+        itemOrdemProducaoDTO.setCodigo(4);
+        itemOrdemProducaoDTO.setPreparoProduto(preparo());
+        itemOrdemProducaoDTO.setQuantidadePorcao(30);
+
+        OrdemProducaoDTO ordemProducaoDTO = new OrdemProducaoDTO();
+        ordemProducaoDTO.setCodigo(12);
+        ordemProducaoDTO.setDataProducao(LocalDate.of(2024, 5, 17));
+        ordemProducaoDTO.setCardapio(cardapioDTO);
+        ordemProducaoDTO.setEstado(EstadoOrdemProducaoDTO.REGISTRADA);
+        ordemProducaoDTO.setListaItens(List.of(itemOrdemProducaoDTO));
+        return ordemProducaoDTO;
+    }
+
+    public static RegistroEstoqueDTO registroEstoque() {
+        RegistroEstoqueDTO registroEstoqueDTO = new RegistroEstoqueDTO();
+        registroEstoqueDTO.setCodigo(8);
+        registroEstoqueDTO.setProduto(preparo().getProduto());
+        registroEstoqueDTO.setMovimento(MovimentoEstoqueDTO.COMPRA);
+        registroEstoqueDTO.setData(LocalDate.of(2024, 2, 29));
+        registroEstoqueDTO.setQuantidade(15);
+        return registroEstoqueDTO;
+    }
+
+    public static ColaboradorDTO colaborador() {
+        ColaboradorDTO colaboradorDTO = new ColaboradorDTO();
+        colaboradorDTO.setCodigo(3);
+        colaboradorDTO.setNome("Colaborador 03");
+        colaboradorDTO.setRG("7654321");
+        colaboradorDTO.setTelefone("65 98888-1111");
+        return colaboradorDTO;
+    }
+
+    /** Um objeto de cada raiz; juntos, alcancam todos os DTOs. */
+    public static List<Object> raizes() {
+        return List.of(pedido(), ordemProducao(), registroEstoque(), colaborador());
+    }
+}
@@ -0,0 +1,66 @@
+package ifmt.cba.utils;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import ifmt.cba.dto.PedidoDTO;
+
+public class DeduplicadorDTOTest {
+
+    private static final Type LISTA_PEDIDOS = new TypeToken<List<PedidoDTO>>() {}.getType();
+
+    /** Tres pedidos do mesmo cliente, cada um com dois itens do mesmo preparo. */
+    private String listaPedidos() {
+        PedidoDTO[] pedidos = new PedidoDTO[3];
+        for (int i = 0; i < pedidos.length; i++) {
+            pedidos[i] = AmostrasDTO.pedido();
+            pedidos[i].setCodigo(i + 1);
+        }
+        return FabricaGson.getGson().toJson(pedidos);
+    }
+
+    @Test
+    public void testEntidadesRepetidasViramUmaInstancia() {
+        List<PedidoDTO> pedidos = FabricaGson.getGsonDeduplicado().fromJson(listaPedidos(), LISTA_PEDIDOS);
+
+        Assertions.assertEquals(3, pedidos.size());
+        PedidoDTO primeiro = pedidos.getFirst();
+        for (PedidoDTO pedidoDTO : pedidos) {
+            Assertions.assertSame(primeiro.getCliente(), pedidoDTO.getCliente());
+            Assertions.assertSame(primeiro.getCliente().getBairro(), pedidoDTO.getCliente().getBairro());
+            Assertions.assertSame(primeiro.getEntregador(), pedidoDTO.getEntregador());
+            Assertions.assertSame(primeiro.getListaItens().getFirst(), pedidoDTO.getListaItens().get(1));
+        }
+        Assertions.assertNotSame(pedidos.get(0), pedidos.get(1));
+        Assertions.assertEquals(listaPedidos(), FabricaGson.getGson().toJson(pedidos));
+    }
+
+    @Test
+    public void testCadaRespostaTemSuasInstancias() {
+        Gson gson = FabricaGson.getGsonDeduplicado();
+        String json = listaPedidos();
+
+        List<PedidoDTO> primeira = gson.fromJson(json, LISTA_PEDIDOS);
+        List<PedidoDTO> segunda = gson.fromJson(json, LISTA_PEDIDOS);
+        PedidoDTO avulso = gson.fromJson(FabricaGson.getGson().toJson(AmostrasDTO.pedido()), PedidoDTO.class);
+
+        Assertions.assertNotSame(primeira.getFirst().getCliente(), segunda.getFirst().getCliente());
+        Assertions.assertNotSame(primeira.getFirst().getCliente(), avulso.getCliente());
+    }
+
+    @Test
+    public void testSemCodigoOuSemDeduplicacaoNaoUnifica() {
+        String semCodigo = "[{\"cliente\":{\"nome\":\"A\"}},{\"cliente\":{\"nome\":\"A\"}}]";
+        List<PedidoDTO> pedidos = FabricaGson.getGsonDeduplicado().fromJson(semCodigo, LISTA_PEDIDOS);
+        Assertions.assertNotSame(pedidos.get(0).getCliente(), pedidos.get(1).getCliente());
+
+        List<PedidoDTO> comuns = FabricaGson.getGson().fromJson(listaPedidos(), LISTA_PEDIDOS);
+        Assertions.assertNotSame(comuns.get(0).getCliente(), comuns.get(1).getCliente());
+    }
+}
@@ -0,0 +1,147 @@
+package ifmt.cba.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.Strictness;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+
+public class EscritorJsonBytesTest {
+
+    private final Gson gson = FabricaGson.getGson();
+
+    private static byte[] bytes(EscritorJsonBytes escritor) {
+        ByteBuffer bytes = escritor.getBytes();
+        byte[] copia = new byte[bytes.remaining()];
+        bytes.get(copia);
+        return copia;
+    }
+
+    private static String texto(EscritorJsonBytes escritor) {
+        return new String(bytes(escritor), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testIgualAoGson(){
+        BairroDTO bairro = new BairroDTO();
+        bairro.setNome("<a href='x'>&=</a> \"aspas\" \\ \t\u0001\u001f \u2028\u2029 é ç 😀 \ud800 fim");
+        bairro.setCustoEntrega(-0.0f);
+        ProdutoDTO produto = new ProdutoDTO();
+        produto.setCustoUnidade(1.0E-4f);
+
+        List<Object> valores = new ArrayList<>(AmostrasDTO.raizes());
+        valores.addAll(List.of(bairro, produto, new PedidoDTO(), List.of(1, 2.5, "tres"),
+            Map.of("n", Long.MIN_VALUE), "solto", 42));
+
+        for (Gson configuracao : List.of(gson, gson.newBuilder().serializeNulls().disableHtmlEscaping().create())) {
+            for (boolean direto : new boolean[] {false, true}) {
+                // capacidade minima para passar pelo crescimento do buffer
+                EscritorJsonBytes escritor = new EscritorJsonBytes(1, direto);
+                for (Object valor : valores) {
+                    escritor.limpar();
+                    escritor.escrever(configuracao, valor);
+                    // bytes, e nao String: o surrogate isolado vira '?' nos dois lados
+                    Assertions.assertArrayEquals(configuracao.toJson(valor).getBytes(StandardCharsets.UTF_8), bytes(escritor));
+                }
+                escritor.limpar();
+                Assertions.assertEquals("null", texto(escritor.escrever(configuracao, null)));
+            }
+        }
+    }
+
+    @Test
+    public void testFloatComoFloatToString(){
+        EscritorJsonBytes escritor = new EscritorJsonBytes();
+        escritor.setStrictness(Strictness.LENIENT); // bits aleatorios incluem NaN e infinitos
+        SplittableRandom aleatorio = new SplittableRandom(20);
+        for (int i = 0; i < 1_000_000; i++) {
+            float valor = switch (i % 3) {
+                case 0 -> Float.intBitsToFloat(aleatorio.nextInt());
+                case 1 -> aleatorio.nextInt(10_000_000) / (float) Math.pow(10, aleatorio.nextInt(5));
+                default -> Math.nextUp(aleatorio.nextInt(100_000) / 100f);
+            };
+            escritor.limpar();
+            escritor.value(valor);
+            Assertions.assertEquals(Float.toString(valor), texto(escritor));
+        }
+        for (float valor : new float[] {0.001f, 9.9999994E-4f, 9999999f, 1.0E7f, 0.1f, 0.3f, 2.675f, 16777215f}) {
+            escritor.limpar();
+            escritor.value(valor);
+            Assertions.assertEquals(Float.toString(valor), texto(escritor));
+        }
+    }
+
+    @Test
+    public void testPublicadorSemCopia(){
+        PedidoDTO pedido = AmostrasDTO.pedido();
+        byte[] esperado = gson.toJson(pedido).getBytes(StandardCharsets.UTF_8);
+
+        for (boolean direto : new boolean[] {false, true}) {
+            HttpRequest.BodyPublisher publicador = new EscritorJsonBytes(64, direto).escrever(gson, pedido).publicador();
+            Assertions.assertEquals(esperado.length, publicador.contentLength());
+            // o HttpClient pode assinar mais de uma vez (redirecionamento, nova tentativa)
+            Assertions.assertArrayEquals(esperado, consumir(publicador));
+            Assertions.assertArrayEquals(esperado, consumir(publicador));
+        }
+    }
+
+    @Test
+    public void testEstruturaInvalida(){
+        EscritorJsonBytes escritor = new EscritorJsonBytes();
+        Assertions.assertThrows(IllegalStateException.class, () -> escritor.name("x"));
+        escritor.beginObject();
+        Assertions.assertThrows(IllegalStateException.class, escritor::endArray);
+        escritor.name("x");
+        Assertions.assertThrows(IllegalStateException.class, escritor::endObject);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> escritor.value(Double.POSITIVE_INFINITY));
+        // como o Gson faz em toJson
+        escritor.setStrictness(Strictness.LENIENT);
+        escritor.value(Float.NaN);
+        escritor.endObject();
+        Assertions.assertEquals("{\"x\":NaN}", texto(escritor));
+    }
+
+    private static byte[] consumir(Flow.Publisher<ByteBuffer> publicador) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        boolean[] completo = new boolean[1];
+        publicador.subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription assinatura) {
+                assinatura.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                saida.writeBytes(bytes);
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                Assertions.fail(erro);
+            }
+
+            @Override
+            public void onComplete() {
+                completo[0] = true;
+            }
+        });
+        Assertions.assertTrue(completo[0]);
+        return saida.toByteArray();
+    }
+}
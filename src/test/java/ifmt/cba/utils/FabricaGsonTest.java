@@ -0,0 +1,54 @@
+package ifmt.cba.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import ifmt.cba.dto.PedidoDTO;
+import ifmt.cba.dto.ProdutoDTO;
+
+public class FabricaGsonTest {
+
+    /** Gson reflexivo, como os testes criavam antes; serve de referencia para o formato. */
+    private final Gson reflexivo = new GsonBuilder()
+        .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+        .registerTypeAdapter(LocalTime.class, new LocalTimeAdapter())
+        .create();
+
+    private final Gson gson = FabricaGson.getGson();
+
+    @Test
+    public void testEscreveComoOGsonReflexivo() {
+        for (Object dto : AmostrasDTO.raizes()) {
+            Assertions.assertEquals(reflexivo.toJson(dto), gson.toJson(dto));
+        }
+        Assertions.assertEquals(reflexivo.toJson(new PedidoDTO()), gson.toJson(new PedidoDTO()));
+    }
+
+    @Test
+    public void testLeComoOGsonReflexivo() {
+        for (Object dto : AmostrasDTO.raizes()) {
+            String json = reflexivo.toJson(dto);
+            Object lido = gson.fromJson(json, dto.getClass());
+            Assertions.assertEquals(json, reflexivo.toJson(lido));
+        }
+    }
+
+    @Test
+    public void testCamposDesconhecidosENulos() {
+        ProdutoDTO produtoDTO = gson.fromJson(
+            "{\"codigo\":null,\"nome\":\"Arroz\",\"extra\":{\"a\":[1,2]},\"estoque\":\"12\",\"grupoAlimentar\":null}",
+            ProdutoDTO.class);
+
+        Assertions.assertEquals(0, produtoDTO.getCodigo());
+        Assertions.assertEquals("Arroz", produtoDTO.getNome());
+        Assertions.assertEquals(12, produtoDTO.getEstoque());
+        Assertions.assertNull(produtoDTO.getGrupoAlimentar());
+        Assertions.assertNull(gson.fromJson("{\"estado\":\"DESCONHECIDO\"}", PedidoDTO.class).getEstado());
+    }
+}
@@ -0,0 +1,41 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LocalDateAdapterTest {
+
+    private final LocalDateAdapter adapter = new LocalDateAdapter();
+
+    @Test
+    public void testConcordaComDateTimeFormatter() {
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        // duas voltas para passar tanto pelas falhas quanto pelos acertos do cache
+        for (int volta = 0; volta < 2; volta++) {
+            for (LocalDate data = LocalDate.of(2019, 12, 1); data.isBefore(LocalDate.of(2026, 3, 1)); data = data.plusDays(1)) {
+                String texto = data.format(formato);
+                Assertions.assertEquals(texto, LocalDateAdapter.formatar(data));
+                Assertions.assertEquals(data, LocalDateAdapter.interpretar(texto));
+            }
+        }
+    }
+
+    @Test
+    public void testNulo() throws IOException {
+        Assertions.assertNull(adapter.fromJson("null"));
+        Assertions.assertEquals("null", adapter.toJson(null));
+    }
+
+    @Test
+    public void testRejeitaTextoInvalido() {
+        String[] invalidos = { "", "2024-1-05", "2024/01/05", "2024-13-01", "2024-00-10", "2024-02-30",
+            "2023-02-29", "0000-01-01", "2024-01-5x", "02-01-2024" };
+        for (String invalido : invalidos) {
+            Assertions.assertThrows(IOException.class, () -> adapter.fromJson("\"" + invalido + "\""), invalido);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LocalTimeAdapterTest {
+
+    private final LocalTimeAdapter adapter = new LocalTimeAdapter();
+
+    @Test
+    public void testLeFormatosAceitos() throws IOException {
+        Assertions.assertEquals(LocalTime.of(12, 30, 15), adapter.fromJson("\"12:30:15\""));
+        Assertions.assertEquals(LocalTime.of(0, 0, 0, 120_000_000), adapter.fromJson("\"00:00:00.12\""));
+        Assertions.assertEquals(LocalTime.of(23, 59, 59, 987_000_000), adapter.fromJson("\"23:59:59.987\""));
+        Assertions.assertEquals(LocalTime.of(8, 5, 1, 500_000_000), adapter.fromJson("\"08:05:01.5\""));
+        Assertions.assertEquals(LocalTime.of(8, 5, 1, 123_456_789), adapter.fromJson("\"08:05:01.123456789\""));
+        Assertions.assertNull(adapter.fromJson("null"));
+    }
+
+    @Test
+    public void testConcordaComDateTimeFormatter() {
+        DateTimeFormatter formato = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+        for (int segundo = 0; segundo < 86_400; segundo += 7) {
+            LocalTime hora = LocalTime.ofSecondOfDay(segundo).withNano(segundo % 1000 * 1_000_000);
+            String texto = hora.format(formato);
+            Assertions.assertEquals(texto, LocalTimeAdapter.formatar(hora));
+            Assertions.assertEquals(hora, LocalTimeAdapter.interpretar(texto));
+        }
+    }
+
+    @Test
+    public void testRejeitaTextoInvalido() {
+        String[] invalidos = { "", "12:30", "12:30:15.", "24:00:00", "12:60:00", "12:30:60",
+            "12-30-15", "1a:30:15", "12:30:15,5", "12:30:15.12x", "12:30:15.1234567890" };
+        for (String invalido : invalidos) {
+            Assertions.assertThrows(IOException.class, () -> adapter.fromJson("\"" + invalido + "\""), invalido);
+        }
+    }
+
+    @Test
+    public void testEscreveComMilissegundos() {
+        Assertions.assertEquals("\"07:04:03.000\"", adapter.toJson(LocalTime.of(7, 4, 3)));
+        Assertions.assertEquals("\"07:04:03.019\"", adapter.toJson(LocalTime.of(7, 4, 3, 19_999_999)));
+        Assertions.assertEquals("null", adapter.toJson(null));
+    }
+}
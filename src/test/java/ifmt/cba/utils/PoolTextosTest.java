@@ -0,0 +1,71 @@
+package ifmt.cba.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import ifmt.cba.dto.BairroDTO;
+import ifmt.cba.dto.PedidoDTO;
+
+public class PoolTextosTest {
+
+    @Test
+    public void testTextosIguaisViramAMesmaInstancia() {
+        PoolTextos pool = new PoolTextos(64, 32);
+        String centro = pool.canonico(new String("Centro"));
+
+        Assertions.assertSame(centro, pool.canonico(new String("Centro")));
+        Assertions.assertNotSame(centro, pool.canonico(new String("Porto")));
+        Assertions.assertNull(pool.canonico(null));
+    }
+
+    @Test
+    public void testTextoLongoNaoEntraNoPool() {
+        PoolTextos pool = new PoolTextos(64, 4);
+        String longo = pool.canonico(new String("Cardapio"));
+
+        Assertions.assertNotSame(longo, pool.canonico(new String("Cardapio")));
+    }
+
+    @Test
+    public void testCapacidadeLimitada() {
+        PoolTextos pool = new PoolTextos(100, 32);
+        Assertions.assertEquals(128, pool.getCapacidade());
+
+        for (int i = 0; i < 100_000; i++) {
+            Assertions.assertEquals("texto" + i, pool.canonico("texto" + i));
+        }
+        String recente = pool.canonico(new String("texto99999"));
+        Assertions.assertSame(recente, pool.canonico(new String("texto99999")));
+    }
+
+    @Test
+    public void testUsoConcorrente() {
+        PoolTextos pool = new PoolTextos(16, 32);
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            tarefas.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    String texto = "bairro" + i % 40;
+                    Assertions.assertEquals(texto, pool.canonico(texto));
+                }
+            }));
+        }
+        tarefas.forEach(CompletableFuture::join);
+    }
+
+    @Test
+    public void testCodecsCompartilhamTextosLidos() {
+        String json = "{\"codigo\":1,\"nome\":\"Centro\",\"link\":\"/bairro/codigo/1\"}";
+        BairroDTO primeiro = FabricaGson.getGson().fromJson(json, BairroDTO.class);
+        BairroDTO segundo = FabricaGson.getGson().fromJson(json, BairroDTO.class);
+
+        Assertions.assertNotSame(primeiro, segundo);
+        Assertions.assertSame(primeiro.getNome(), segundo.getNome());
+        Assertions.assertSame(primeiro.getLink(), segundo.getLink());
+        Assertions.assertNull(FabricaGson.getGson().fromJson("{\"estado\":\"OUTRO\"}", PedidoDTO.class).getEstado());
+    }
+}
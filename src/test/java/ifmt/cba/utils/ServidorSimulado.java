@@ -0,0 +1,81 @@
+package ifmt.cba.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servidor HTTP local que substitui a API do restaurante nos testes que nao
+ * dependem do servidor real em localhost:8080.
+ */
+public class ServidorSimulado implements AutoCloseable {
+
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, AtomicInteger> requisicoes = new ConcurrentHashMap<>();
+
+    public ServidorSimulado() {
+        try {
+            servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    public ServidorSimulado rota(String caminho, HttpHandler handler) {
+        servidor.createContext(caminho, troca -> {
+            requisicoes.computeIfAbsent(troca.getRequestMethod() + " " + troca.getRequestURI().getPath(),
+                chave -> new AtomicInteger()).incrementAndGet();
+            try {
+                handler.handle(troca);
+            } finally {
+                troca.close();
+            }
+        });
+        return this;
+    }
+
+    public ServidorSimulado json(String caminho, int status, String corpo) {
+        return rota(caminho, troca -> responder(troca, status, corpo));
+    }
+
+    public static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        troca.getRequestBody().readAllBytes();
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(bytes);
+            }
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + servidor.getAddress().getPort();
+    }
+
+    /** Numero de requisicoes recebidas, por exemplo {@code requisicoes("GET /bairro/codigo/1")}. */
+    public int requisicoes(String metodoECaminho) {
+        AtomicInteger contador = requisicoes.get(metodoECaminho);
+        return contador == null ? 0 : contador.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}